@@ -0,0 +1,333 @@
+package com.mantledillusion.vaadin.cotton;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.exception.WebException;
+import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
+import com.vaadin.shared.communication.PushMode;
+import com.vaadin.ui.UI;
+import com.vaadin.ui.UIDetachedException;
+
+/**
+ * Application wide bus delivering {@link BusEvent}s to <b>all</b> currently
+ * attached {@link UI}s of the {@link CottonServlet}s it is registered at using
+ * {@link CottonServlet.TemporalCottonServletConfiguration#setBroadcastBus(BroadcastBus)}.
+ * <p>
+ * Every {@link UI} owns a bounded mailbox on this bus; publishing an event only
+ * offers it to these mailboxes and returns immediately. The events of a mailbox
+ * are delivered to the {@link UI}'s own event bus by an {@link Executor} using
+ * {@link UI#access(Runnable)}, so the {@link EventBusSubscriber}s of the
+ * {@link UI} receive them while its session is locked. {@link UI}s using
+ * {@link PushMode#MANUAL} are pushed after every delivery; for {@link UI}s
+ * using {@link PushMode#AUTOMATIC}, Vaadin pushes by itself.
+ * <p>
+ * A slow {@link UI} never blocks the publisher; if its mailbox is full, further
+ * events to it are dropped until its mailbox has been drained.
+ * <p>
+ * If the bus is created with an {@link EventTransport}, @{@link Distributable}
+ * events are additionally sent to the buses on all other nodes of the
+ * application, where they are delivered to the {@link UI}s of that node. Such
+ * events are collected and sent in batches by the bus' {@link Executor}.
+ * <p>
+ * NOTE: Since the same {@link BusEvent} instance is delivered to multiple
+ * {@link UI}s concurrently, broadcast events should be immutable.
+ */
+public final class BroadcastBus {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BroadcastBus.class);
+
+	/**
+	 * The default amount of events a single {@link UI}'s mailbox can hold.
+	 */
+	public static final int DEFAULT_MAILBOX_CAPACITY = 64;
+
+	private static final int OUTBOUND_CAPACITY = 1024;
+	private static final int MAX_BATCH_SIZE = 128;
+
+	/**
+	 * A receiver of broadcast events owning a mailbox on the bus; implemented by
+	 * {@link CottonUI}.
+	 */
+	interface Recipient {
+
+		/**
+		 * Returns whether the recipient is still attached; detached recipients are
+		 * unregistered from the bus.
+		 *
+		 * @return True if the recipient is attached, false otherwise
+		 */
+		boolean isAttached();
+
+		/**
+		 * Runs the given delivery while the recipient is locked.
+		 *
+		 * @param delivery
+		 *            The delivery to run; might be run asynchronously after this
+		 *            method returns, never null.
+		 * @throws UIDetachedException
+		 *             If the recipient has been detached
+		 */
+		void deliverBroadcasts(Runnable delivery);
+
+		/**
+		 * Dispatches a single broadcast event; only called during a delivery.
+		 *
+		 * @param event
+		 *            The event to dispatch; never null.
+		 */
+		void dispatchBroadcast(BusEvent event);
+	}
+
+	private final class Mailbox implements Runnable {
+
+		private final Recipient ui;
+		private final BlockingQueue<BusEvent> events;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private Mailbox(Recipient ui) {
+			this.ui = ui;
+			this.events = new ArrayBlockingQueue<>(BroadcastBus.this.mailboxCapacity);
+		}
+
+		private void offer(BusEvent event) {
+			if (this.events.offer(event)) {
+				schedule();
+			} else {
+				LOGGER.warn("Dropped broadcast event of type " + event.getClass().getSimpleName() + " for the UI '"
+						+ this.ui + "'; its mailbox of " + BroadcastBus.this.mailboxCapacity + " events is full.");
+			}
+		}
+
+		private void schedule() {
+			if (this.scheduled.compareAndSet(false, true)) {
+				try {
+					BroadcastBus.this.executor.execute(this);
+				} catch (RejectedExecutionException e) {
+					this.scheduled.set(false);
+					LOGGER.warn("Unable to schedule delivering broadcast events to the UI '" + this.ui
+							+ "'; the executor rejected the delivery.", e);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				this.ui.deliverBroadcasts(this::drain);
+			} catch (UIDetachedException e) {
+				unregister(this.ui);
+			}
+		}
+
+		private void drain() {
+			try {
+				BusEvent event;
+				while ((event = this.events.poll()) != null) {
+					this.ui.dispatchBroadcast(event);
+				}
+			} finally {
+				this.scheduled.set(false);
+				if (!this.events.isEmpty()) {
+					schedule();
+				}
+			}
+		}
+	}
+
+	private final Executor executor;
+	private final int mailboxCapacity;
+	private final ConcurrentHashMap<Recipient, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+	// DISTRIBUTION
+	private final EventTransport transport;
+	private final ClassLoader classLoader;
+	private final BlockingQueue<BusEvent> outbound;
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+	/**
+	 * Creates a bus using the {@link ForkJoinPool#commonPool()} for delivering
+	 * events and mailboxes of {@link #DEFAULT_MAILBOX_CAPACITY}.
+	 */
+	public BroadcastBus() {
+		this(ForkJoinPool.commonPool(), DEFAULT_MAILBOX_CAPACITY);
+	}
+
+	/**
+	 * Creates a bus.
+	 *
+	 * @param executor
+	 *            The {@link Executor} to deliver events into the {@link UI}s with;
+	 *            <b>not</b> allowed to be null.
+	 * @param mailboxCapacity
+	 *            The amount of undelivered events a single {@link UI} can hold
+	 *            before further events to it are dropped; has to be &gt;0.
+	 */
+	public BroadcastBus(Executor executor, int mailboxCapacity) {
+		this(executor, mailboxCapacity, null);
+	}
+
+	/**
+	 * Creates a bus that distributes @{@link Distributable} events to other nodes.
+	 *
+	 * @param executor
+	 *            The {@link Executor} to deliver events into the {@link UI}s and to
+	 *            send batches to other nodes with; <b>not</b> allowed to be null.
+	 * @param mailboxCapacity
+	 *            The amount of undelivered events a single {@link UI} can hold
+	 *            before further events to it are dropped; has to be &gt;0.
+	 * @param transport
+	 *            The transport to other nodes; might be null if the bus should
+	 *            only deliver to the {@link UI}s of this node.
+	 * @see #BroadcastBus(Executor, int, EventTransport, ClassLoader)
+	 */
+	public BroadcastBus(Executor executor, int mailboxCapacity, EventTransport transport) {
+		this(executor, mailboxCapacity, transport, Thread.currentThread().getContextClassLoader());
+	}
+
+	/**
+	 * Creates a bus that distributes @{@link Distributable} events to other nodes.
+	 * <p>
+	 * Batches are received on threads of the transport, whose context
+	 * {@link ClassLoader} is unknown; so the event types of received batches are
+	 * loaded using the given {@link ClassLoader}.
+	 *
+	 * @param executor
+	 *            The {@link Executor} to deliver events into the {@link UI}s and to
+	 *            send batches to other nodes with; <b>not</b> allowed to be null.
+	 * @param mailboxCapacity
+	 *            The amount of undelivered events a single {@link UI} can hold
+	 *            before further events to it are dropped; has to be &gt;0.
+	 * @param transport
+	 *            The transport to other nodes; might be null if the bus should
+	 *            only deliver to the {@link UI}s of this node.
+	 * @param classLoader
+	 *            The {@link ClassLoader} to load the event types of received
+	 *            batches with; might be null, in which case the
+	 *            {@link ClassLoader} of the framework is used.
+	 */
+	public BroadcastBus(Executor executor, int mailboxCapacity, EventTransport transport,
+			ClassLoader classLoader) {
+		if (executor == null) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+					"Cannot create a broadcast bus using a null executor.");
+		} else if (mailboxCapacity < 1) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+					"Cannot create a broadcast bus with a mailbox capacity of less than 1.");
+		}
+		this.executor = executor;
+		this.mailboxCapacity = mailboxCapacity;
+
+		this.transport = transport;
+		this.classLoader = classLoader != null ? classLoader : BroadcastBus.class.getClassLoader();
+		if (transport != null) {
+			this.outbound = new ArrayBlockingQueue<>(OUTBOUND_CAPACITY);
+			transport.connect(this::receive);
+		} else {
+			this.outbound = null;
+		}
+	}
+
+	void register(Recipient ui) {
+		this.mailboxes.computeIfAbsent(ui, Mailbox::new);
+	}
+
+	void unregister(Recipient ui) {
+		this.mailboxes.remove(ui);
+	}
+
+	/**
+	 * Publishes the given event to all currently attached {@link UI}s.
+	 * <p>
+	 * If the event is @{@link Distributable} and the bus has an
+	 * {@link EventTransport}, it is also published to the {@link UI}s of all other
+	 * nodes.
+	 * <p>
+	 * Returns immediately; the event is delivered to the {@link UI}s
+	 * asynchronously.
+	 *
+	 * @param event
+	 *            The event to publish; <b>not</b> allowed to be null.
+	 */
+	public void publish(BusEvent event) {
+		if (event == null) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+					"Unable to broadcast a null event.");
+		}
+
+		if (this.transport != null && EventCodec.isDistributable(event)) {
+			if (this.outbound.offer(event)) {
+				scheduleFlush();
+			} else {
+				LOGGER.warn("Dropped distributing broadcast event of type " + event.getClass().getSimpleName()
+						+ "; " + OUTBOUND_CAPACITY + " events are already waiting to be sent.");
+			}
+		}
+
+		deliver(event);
+	}
+
+	private void deliver(BusEvent event) {
+		for (Mailbox mailbox : this.mailboxes.values()) {
+			if (mailbox.ui.isAttached()) {
+				mailbox.offer(event);
+			} else {
+				unregister(mailbox.ui);
+			}
+		}
+	}
+
+	private void scheduleFlush() {
+		if (this.flushScheduled.compareAndSet(false, true)) {
+			try {
+				this.executor.execute(this::flush);
+			} catch (RejectedExecutionException e) {
+				this.flushScheduled.set(false);
+				LOGGER.warn("Unable to schedule distributing broadcast events; the executor rejected the flush.", e);
+			}
+		}
+	}
+
+	private void flush() {
+		try {
+			List<BusEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
+			while (this.outbound.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+				try {
+					this.transport.send(EventCodec.encode(batch));
+				} catch (RuntimeException e) {
+					LOGGER.error("Unable to distribute a batch of " + batch.size() + " broadcast events.", e);
+				}
+				batch.clear();
+			}
+		} finally {
+			this.flushScheduled.set(false);
+			if (!this.outbound.isEmpty()) {
+				scheduleFlush();
+			}
+		}
+	}
+
+	private void receive(byte[] batch) {
+		List<BusEvent> events;
+		try {
+			events = EventCodec.decode(batch, this.classLoader);
+		} catch (RuntimeException e) {
+			LOGGER.error("Unable to receive a batch of distributed broadcast events.", e);
+			return;
+		}
+		for (BusEvent event : events) {
+			deliver(event);
+		}
+	}
+}
@@ -9,7 +9,10 @@ import com.mantledillusion.vaadin.cotton.environment.views.ErrorView;
 import com.mantledillusion.vaadin.cotton.exception.WebException;
 import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
 import com.mantledillusion.vaadin.cotton.viewpresenter.Addressed;
+import com.mantledillusion.vaadin.cotton.viewpresenter.KeepAlive;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Prebuild;
 import com.mantledillusion.vaadin.cotton.viewpresenter.Restricted;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
 import com.mantledillusion.vaadin.cotton.viewpresenter.View;
 import com.vaadin.annotations.PreserveOnRefresh;
 import com.vaadin.annotations.Push;
@@ -26,6 +29,12 @@ import org.apache.commons.lang3.StringUtils;
 import java.lang.reflect.Method;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.servlet.Servlet;
 
@@ -42,6 +51,11 @@ public abstract class CottonServlet extends VaadinServlet {
 
 	private static final long serialVersionUID = 1L;
 
+	private static final int DEFAULT_EXECUTOR_QUEUE_CAPACITY = 4096;
+
+	private transient LocalizationWatcher localizationWatcher;
+	private transient ExecutorService defaultExecutor;
+
 	/**
 	 * Temporarily active configuration type that can be used to configure a
 	 * {@link CottonServlet}.
@@ -63,14 +77,29 @@ public abstract class CottonServlet extends VaadinServlet {
 
 		// NAVIGATION
 		private final UrlResourceRegistry urlRegistry;
+		private int viewCacheSize = CottonUI.DEFAULT_VIEW_CACHE_SIZE;
+		private int viewPrebuildLimit = CottonUI.DEFAULT_VIEW_PREBUILD_LIMIT;
 
 		// LOCALIZATION
 		private String defaultLang = Locale.US.getISO3Language();
 		private final Map<String, LocalizationResource> resourceBundleRegistry = new HashMap<>();
+		private final List<LocalizationWatcher.Registration> localizationRegistrations = new ArrayList<>();
+		private boolean reloadLocalizations;
 
 		// LOGIN
 		private LoginProvider loginProvider;
 
+		// EVENTS
+		private Executor asyncDispatchExecutor;
+		private int asyncDispatchLimit = EventBus.DEFAULT_MAX_CONCURRENT_ASYNC_DISPATCHES;
+		private BroadcastBus broadcastBus;
+		private EventBusMetrics eventBusMetrics;
+		private long slowSubscriberThresholdNanos;
+		private int maxDispatchDepth = EventBus.DEFAULT_MAX_DISPATCH_DEPTH;
+		private int dispatchQueueCapacity = DispatchQueue.DEFAULT_CAPACITY;
+		private QueueOverflowPolicy dispatchQueueOverflowPolicy = QueueOverflowPolicy.DROP_OLDEST;
+		private String dispatchQueueCoalescingKey;
+
 		// ERROR HANDLING
 		private final InternalErrorHandler internalErrorHandler;
 
@@ -216,7 +245,7 @@ public abstract class CottonServlet extends VaadinServlet {
 		 * 
 		 * @param urlPath
 		 *            Path to register the GONE resource at; might <b>not</b> be null
-		 *            and has to match {@link WebUtils#URL_PATH_REGEX}
+		 *            and has to match {@link WebUtils#URL_ROUTE_REGEX}
 		 * @return this
 		 */
 		public TemporalCottonServletConfiguration registerGoneResource(String urlPath) {
@@ -228,6 +257,60 @@ public abstract class CottonServlet extends VaadinServlet {
 			return urlRegistry;
 		}
 
+		/**
+		 * Sets the maximum amount of @{@link KeepAlive} {@link View}s every
+		 * {@link UI} keeps in its view cache.
+		 * <p>
+		 * When the cache is full, the least recently displayed {@link View} is
+		 * destroyed. By default, 4 {@link View}s are kept.
+		 * 
+		 * @param maxCachedViews
+		 *            The maximum amount of cached {@link View}s per {@link UI}; has to
+		 *            be &gt;=0, 0 disables caching views.
+		 * @return this
+		 */
+		public TemporalCottonServletConfiguration setViewCacheSize(int maxCachedViews) {
+			checkConfigurationAllowed();
+			if (maxCachedViews < 0) {
+				throw new WebException(WebException.HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+						"Cannot limit the view cache to a negative size.");
+			}
+			this.viewCacheSize = maxCachedViews;
+			return this;
+		}
+
+		int getViewCacheSize() {
+			return this.viewCacheSize;
+		}
+
+		/**
+		 * Sets the maximum amount of {@link View}s declared by @{@link Prebuild}
+		 * every {@link UI} prebuilds for the currently displayed {@link View}.
+		 * <p>
+		 * {@link View}s are prebuilt by the {@link Executor} set using
+		 * {@link #setAsyncDispatchExecutor(Executor, int)}; declared {@link View}s
+		 * beyond the limit are not prebuilt. By default, 2 {@link View}s are
+		 * prebuilt.
+		 * 
+		 * @param maxPrebuiltViews
+		 *            The maximum amount of prebuilt {@link View}s per {@link UI}; has
+		 *            to be &gt;=0, 0 disables prebuilding views.
+		 * @return this
+		 */
+		public TemporalCottonServletConfiguration setViewPrebuildLimit(int maxPrebuiltViews) {
+			checkConfigurationAllowed();
+			if (maxPrebuiltViews < 0) {
+				throw new WebException(WebException.HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+						"Cannot limit the amount of prebuilt views to a negative value.");
+			}
+			this.viewPrebuildLimit = maxPrebuiltViews;
+			return this;
+		}
+
+		int getViewPrebuildLimit() {
+			return this.viewPrebuildLimit;
+		}
+
 		/**
 		 * Sets the default language of the {@link CottonUI} to the given
 		 * {@link Locale}.
@@ -305,6 +388,7 @@ public abstract class CottonServlet extends VaadinServlet {
 						"Cannot register a localization for a null first locale.");
 			}
 			LocalizationControl control = new LocalizationControl(charset, fileExtension);
+			LocalizationWatcher.Registration registration = new LocalizationWatcher.Registration(baseName, control);
 			Set<Locale> uniqueLocales = new HashSet<>();
 			uniqueLocales.add(locale);
 			uniqueLocales.addAll(Arrays.asList(locales));
@@ -351,8 +435,10 @@ public abstract class CottonServlet extends VaadinServlet {
 						this.resourceBundleRegistry.put(loc.getISO3Language(), new LocalizationResource(loc));
 					}
 					this.resourceBundleRegistry.get(loc.getISO3Language()).addBundle(bundle, bundleKeys);
+					registration.addLocale(loc);
 				}
 			}
+			this.localizationRegistrations.add(registration);
 			return this;
 		}
 
@@ -360,6 +446,39 @@ public abstract class CottonServlet extends VaadinServlet {
 			return resourceBundleRegistry;
 		}
 
+		/**
+		 * Sets whether the resource files of all localizations registered using
+		 * {@link #registerLocalization(String, String, Charset, Locale, Locale...)}
+		 * are watched for changes and reloaded while the {@link CottonServlet} is
+		 * running.
+		 * <p>
+		 * Only resource files residing in the file system can be watched, not those
+		 * inside of archives. A changed localization is only reloaded if its message
+		 * ids are still equal for all of its {@link Locale}s, just as it is required
+		 * on registration; otherwise the previous messages remain in use. Messages
+		 * that are currently rendered never mix old and reloaded messages.
+		 * <p>
+		 * By default, localizations are not reloaded.
+		 * 
+		 * @param reloadLocalizations
+		 *            True if the localizations should be reloaded on change, false
+		 *            otherwise.
+		 * @return this
+		 */
+		public TemporalCottonServletConfiguration setLocalizationReloading(boolean reloadLocalizations) {
+			checkConfigurationAllowed();
+			this.reloadLocalizations = reloadLocalizations;
+			return this;
+		}
+
+		boolean isLocalizationReloading() {
+			return this.reloadLocalizations;
+		}
+
+		List<LocalizationWatcher.Registration> getLocalizationRegistrations() {
+			return this.localizationRegistrations;
+		}
+
 		/**
 		 * Registers the given {@link LoginProvider} to be used for automatic login; for
 		 * example when {@link WebEnv#triggerlogIn()} is called or a @{@link Restricted}
@@ -379,6 +498,203 @@ public abstract class CottonServlet extends VaadinServlet {
 			return loginProvider;
 		}
 
+		/**
+		 * Sets the {@link Executor} that executes the {@link Method}s annotated with
+		 * @{@link Subscribe#async()} and events dispatched using
+		 * {@link EventBusSubscriber#dispatchAsync(EventBusSubscriber.BusEvent)}.
+		 * <p>
+		 * Asynchronous {@link Method}s are executed without holding the {@link UI}'s
+		 * session lock; the given limit bounds how many of them a single {@link UI}
+		 * executes at the same time, further ones wait until a running one has
+		 * finished. Deferred dispatches are only handed over to the {@link UI} using
+		 * {@link UI#access(Runnable)}, which never waits for the session lock, so the
+		 * {@link Executor}'s threads are never parked on a session lock.
+		 * <p>
+		 * By default, a dedicated, bounded {@link Executor} is used whose threads are
+		 * shut down when the {@link CottonServlet} is destroyed, with a limit of 1
+		 * asynchronous {@link Method} per {@link UI} at a time.
+		 * 
+		 * @param executor
+		 *            The {@link Executor} to use; <b>not</b> allowed to be null.
+		 * @param maxConcurrentDispatchesPerUI
+		 *            The maximum number of asynchronous {@link Method}s a single
+		 *            {@link UI} may execute at the same time; has to be &gt;0.
+		 * @return this
+		 */
+		public TemporalCottonServletConfiguration setAsyncDispatchExecutor(Executor executor,
+				int maxConcurrentDispatchesPerUI) {
+			checkConfigurationAllowed();
+			if (executor == null) {
+				throw new WebException(WebException.HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+						"Cannot set a null executor for asynchronous dispatching.");
+			} else if (maxConcurrentDispatchesPerUI < 1) {
+				throw new WebException(WebException.HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+						"Cannot limit the concurrent asynchronous dispatches per UI to less than 1.");
+			}
+			this.asyncDispatchExecutor = executor;
+			this.asyncDispatchLimit = maxConcurrentDispatchesPerUI;
+			return this;
+		}
+
+		Executor getAsyncDispatchExecutor() {
+			return this.asyncDispatchExecutor;
+		}
+
+		int getAsyncDispatchLimit() {
+			return this.asyncDispatchLimit;
+		}
+
+		/**
+		 * Sets the {@link BroadcastBus} all {@link UI}s of this {@link CottonServlet}
+		 * are connected to.
+		 * <p>
+		 * The same {@link BroadcastBus} instance might be set on multiple
+		 * {@link CottonServlet}s to connect all of their {@link UI}s.
+		 * 
+		 * @param broadcastBus
+		 *            The bus to connect to; might be null if no broadcasting is
+		 *            desired.
+		 * @return this
+		 */
+		public TemporalCottonServletConfiguration setBroadcastBus(BroadcastBus broadcastBus) {
+			checkConfigurationAllowed();
+			this.broadcastBus = broadcastBus;
+			return this;
+		}
+
+		BroadcastBus getBroadcastBus() {
+			return this.broadcastBus;
+		}
+
+		/**
+		 * Sets the {@link EventBusMetrics} that receive the measurements of the event
+		 * buses of all {@link UI}s of this {@link CottonServlet}.
+		 * <p>
+		 * Deliveries to subscribers are only timed if either metrics or a slow
+		 * subscriber threshold are set.
+		 * 
+		 * @param metrics
+		 *            The metrics to set; might be null if no measuring is desired.
+		 * @return this
+		 */
+		public TemporalCottonServletConfiguration setEventBusMetrics(EventBusMetrics metrics) {
+			checkConfigurationAllowed();
+			this.eventBusMetrics = metrics;
+			return this;
+		}
+
+		EventBusMetrics getEventBusMetrics() {
+			return this.eventBusMetrics;
+		}
+
+		/**
+		 * Sets the threshold above which the delivery of an event to a single
+		 * subscribing {@link Method} is logged as a warning, naming the subscriber's
+		 * type and {@link Method}.
+		 * 
+		 * @param threshold
+		 *            The threshold; a value &lt;=0 disables logging slow subscribers,
+		 *            which is the default.
+		 * @param unit
+		 *            The unit of the given threshold; <b>not</b> allowed to be null.
+		 * @return this
+		 */
+		public TemporalCottonServletConfiguration setSlowSubscriberThreshold(long threshold, TimeUnit unit) {
+			checkConfigurationAllowed();
+			if (unit == null) {
+				throw new WebException(WebException.HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+						"Cannot set a slow subscriber threshold of a null unit.");
+			}
+			this.slowSubscriberThresholdNanos = Math.max(0, unit.toNanos(threshold));
+			return this;
+		}
+
+		long getSlowSubscriberThresholdNanos() {
+			return this.slowSubscriberThresholdNanos;
+		}
+
+		/**
+		 * Sets the maximum depth of dispatches nested into each other, which occur
+		 * when subscribers dispatch events themselves.
+		 * <p>
+		 * Dispatching an event beyond that depth fails with a {@link WebException} of
+		 * {@link WebException.HttpErrorCodes#HTTP508_LOOP_DETECTED}, reporting the
+		 * event types and subscribers of the chain of dispatches. By default, the
+		 * maximum depth is 64.
+		 * 
+		 * @param maxDispatchDepth
+		 *            The maximum dispatch depth; has to be &gt;0.
+		 * @return this
+		 */
+		public TemporalCottonServletConfiguration setMaxDispatchDepth(int maxDispatchDepth) {
+			checkConfigurationAllowed();
+			if (maxDispatchDepth < 1) {
+				throw new WebException(WebException.HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+						"Cannot limit the dispatch depth to less than 1.");
+			}
+			this.maxDispatchDepth = maxDispatchDepth;
+			return this;
+		}
+
+		int getMaxDispatchDepth() {
+			return this.maxDispatchDepth;
+		}
+
+		/**
+		 * Sets the bounds of the queue every {@link UI} owns for events dispatched
+		 * using {@link EventBusSubscriber#dispatchQueued(EventBusSubscriber.BusEvent)}.
+		 * <p>
+		 * The events of the queue are delivered by the {@link Executor} set using
+		 * {@link #setAsyncDispatchExecutor(Executor, int)} in batches; all events
+		 * queued until a batch starts are delivered within a single
+		 * {@link UI#access(Runnable)}. By default, the queue holds 1024 events and
+		 * drops the oldest event when full.
+		 * 
+		 * @param capacity
+		 *            The amount of undelivered events a single {@link UI}'s queue can
+		 *            hold; has to be &gt;0.
+		 * @param policy
+		 *            The policy to apply on events queued while the queue is full;
+		 *            <b>not</b> allowed to be null.
+		 * @param coalescingPropertyKey
+		 *            The key of the event property whose value identifies events
+		 *            replacing each other; <b>not</b> allowed to be null if the policy
+		 *            is {@link QueueOverflowPolicy#KEEP_LATEST_PER_KEY}, ignored
+		 *            otherwise.
+		 * @return this
+		 */
+		public TemporalCottonServletConfiguration setDispatchQueue(int capacity, QueueOverflowPolicy policy,
+				String coalescingPropertyKey) {
+			checkConfigurationAllowed();
+			if (capacity < 1) {
+				throw new WebException(WebException.HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+						"Cannot limit the dispatch queue to a capacity of less than 1.");
+			} else if (policy == null) {
+				throw new WebException(WebException.HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+						"Cannot set a null overflow policy for the dispatch queue.");
+			} else if (policy == QueueOverflowPolicy.KEEP_LATEST_PER_KEY && coalescingPropertyKey == null) {
+				throw new WebException(WebException.HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+						"Cannot keep the latest event per key in the dispatch queue without a coalescing property key.");
+			}
+			this.dispatchQueueCapacity = capacity;
+			this.dispatchQueueOverflowPolicy = policy;
+			this.dispatchQueueCoalescingKey = policy == QueueOverflowPolicy.KEEP_LATEST_PER_KEY
+					? coalescingPropertyKey : null;
+			return this;
+		}
+
+		int getDispatchQueueCapacity() {
+			return this.dispatchQueueCapacity;
+		}
+
+		QueueOverflowPolicy getDispatchQueueOverflowPolicy() {
+			return this.dispatchQueueOverflowPolicy;
+		}
+
+		String getDispatchQueueCoalescingKey() {
+			return this.dispatchQueueCoalescingKey;
+		}
+
 		/**
 		 * Registers the given {@link ErrorView} type as the error handler for the given
 		 * {@link Exception} sub type.
@@ -514,6 +830,18 @@ public abstract class CottonServlet extends VaadinServlet {
 		TemporalCottonServletConfiguration config = new TemporalCottonServletConfiguration();
 		configure(config);
 		config.allowConfiguration = false;
+		config.getUrlRegistry().freeze();
+		for (LocalizationResource localization : config.getResourceBundleRegistry().values()) {
+			localization.buildCatalog();
+		}
+		if (config.asyncDispatchExecutor == null) {
+			this.defaultExecutor = createDefaultExecutor();
+			config.asyncDispatchExecutor = this.defaultExecutor;
+		}
+		if (config.isLocalizationReloading()) {
+			this.localizationWatcher = LocalizationWatcher.start(config.getLocalizationRegistrations(),
+					config.getResourceBundleRegistry());
+		}
 
 		service.addSessionInitListener(
 				sessionInitEvent -> sessionInitEvent.getSession().addUIProvider(new UIProvider() {
@@ -581,6 +909,32 @@ public abstract class CottonServlet extends VaadinServlet {
 		return service;
 	}
 
+	private static ExecutorService createDefaultExecutor() {
+		int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors());
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(DEFAULT_EXECUTOR_QUEUE_CAPACITY), runnable -> {
+					Thread thread = new Thread(runnable, "cotton-dispatch-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	@Override
+	public void destroy() {
+		if (this.localizationWatcher != null) {
+			this.localizationWatcher.stop();
+			this.localizationWatcher = null;
+		}
+		if (this.defaultExecutor != null) {
+			this.defaultExecutor.shutdown();
+			this.defaultExecutor = null;
+		}
+		super.destroy();
+	}
+
 	/**
 	 * Configures the {@link CottonServlet} on startup using the given
 	 * {@link TemporalCottonServletConfiguration} and returns an
@@ -8,11 +8,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.MissingResourceException;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.servlet.http.Cookie;
 
@@ -27,6 +32,7 @@ import com.mantledillusion.vaadin.cotton.environment.events.user.UserChangeType;
 import com.mantledillusion.vaadin.cotton.environment.views.ErrorView;
 import com.mantledillusion.vaadin.cotton.environment.views.LoginView;
 import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -43,16 +49,20 @@ import com.mantledillusion.vaadin.cotton.User.SessionLogEntry;
 import com.mantledillusion.vaadin.cotton.User.SessionLogType;
 import com.mantledillusion.vaadin.cotton.exception.WebException;
 import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
+import com.mantledillusion.vaadin.cotton.viewpresenter.KeepAlive;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Prebuild;
 import com.mantledillusion.vaadin.cotton.viewpresenter.View;
 import com.vaadin.server.ErrorHandler;
 import com.vaadin.server.Page;
 import com.vaadin.server.Page.PopStateEvent;
 import com.vaadin.server.Page.PopStateListener;
 import com.vaadin.server.VaadinRequest;
+import com.vaadin.shared.communication.PushMode;
 import com.vaadin.ui.JavaScript;
 import com.vaadin.ui.UI;
+import com.vaadin.ui.UIDetachedException;
 
-final class CottonUI extends com.vaadin.ui.UI {
+final class CottonUI extends com.vaadin.ui.UI implements BroadcastBus.Recipient {
 
 	private static final long serialVersionUID = 1L;
 	static final Logger LOGGER = LoggerFactory.getLogger(CottonUI.class);
@@ -62,17 +72,26 @@ final class CottonUI extends com.vaadin.ui.UI {
 			+ REGEX_MESSAGE_ID_NAME_SEGMENT + ")+";
 	private static final DateTimeFormatter COOKIE_DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy kk:mm:ss z");
 	private static final String QUERY_PARAM_KEY_LANGUAGE = "lang";
+	static final int DEFAULT_VIEW_CACHE_SIZE = 4;
+	static final int DEFAULT_VIEW_PREBUILD_LIMIT = 2;
 
 	// INJECTION
-	private final EventBus eventBus = new EventBus();
+	private final EventBus eventBus;
+	private final BroadcastBus broadcastBus;
 	private final RootInjector injector;
 
 	// NAVIGATION
 	private final UrlResourceRegistry urlRegistry;
+	private final ViewCache viewCache;
+	private final Executor prebuildExecutor;
+	private final int viewPrebuildLimit;
 
 	// LOCALIZATION
 	private final String defaultLang;
 	private final Map<String, LocalizationResource> resourceBundleRegistry;
+	private String currentLang;
+	private Locale currentLocale;
+	private LocalizationResource currentLocalization;
 
 	// LOGIN
 	private final LoginProvider loginProvider;
@@ -84,18 +103,27 @@ final class CottonUI extends com.vaadin.ui.UI {
 	// CURRENT
 	private String currentUrl;
 	private Map<String, String[]> currentParams;
+	private Map<String, String> currentPathParams = Collections.emptyMap();
 	private final Map<String, CookieInstance> currentCookies = new HashMap<>();
 	private View currentView;
+	private String currentViewPath;
+	private EventBus.SubscriberGroup currentViewSubscribers;
 	private User user;
 
 	CottonUI(CottonServlet.TemporalCottonServletConfiguration config) {
+		this.broadcastBus = config.getBroadcastBus();
+		this.eventBus = new EventBus(this, config);
 		Singleton eventBus = Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, this.eventBus);
 		this.injector = Injector.of(ListUtils.union(config.getPredefinables(), Arrays.asList(eventBus)));
 
 		this.urlRegistry = config.getUrlRegistry();
+		this.viewCache = new ViewCache(config.getViewCacheSize(), this.injector::destroy);
+		this.prebuildExecutor = config.getAsyncDispatchExecutor();
+		this.viewPrebuildLimit = config.getViewPrebuildLimit();
 
 		this.defaultLang = config.getDefaultLang();
 		this.resourceBundleRegistry = config.getResourceBundleRegistry();
+		updateCurrentLocalization(this.defaultLang);
 
 		this.loginProvider = config.getLoginProvider();
 
@@ -122,6 +150,10 @@ final class CottonUI extends com.vaadin.ui.UI {
 				}
 			}
 
+			if (this.broadcastBus != null) {
+				this.broadcastBus.register(this);
+			}
+
 			Page.getCurrent().addPopStateListener(new PopStateListener() {
 
 				private static final long serialVersionUID = 1L;
@@ -167,6 +199,10 @@ final class CottonUI extends com.vaadin.ui.UI {
 					"Closing expired session"));
 		}
 
+		if (this.broadcastBus != null) {
+			this.broadcastBus.unregister(this);
+		}
+
 		try {
 			this.eventBus.dispatch(new ShutdownEvent(), null);
 		} catch (Throwable t) {
@@ -174,11 +210,27 @@ final class CottonUI extends com.vaadin.ui.UI {
 					+ "' could not be shutdown correctly; an error occurred during notifying event bus subscribers of the shutdown.",
 					t);
 		} finally {
+			this.eventBus.close();
 			super.detach();
 			this.injector.destroyInjector();
 		}
 	}
 
+	@Override
+	public void deliverBroadcasts(Runnable delivery) {
+		access(() -> {
+			delivery.run();
+			if (getPushConfiguration().getPushMode() == PushMode.MANUAL) {
+				push();
+			}
+		});
+	}
+
+	@Override
+	public void dispatchBroadcast(EventBusSubscriber.BusEvent event) {
+		this.eventBus.dispatch(event, null);
+	}
+
 	static CottonUI current() {
 		UI vaadinUI = getCurrent();
 		if (vaadinUI == null) {
@@ -206,7 +258,7 @@ final class CottonUI extends com.vaadin.ui.UI {
 			String available = null;
 			List<String> ignored = new ArrayList<>();
 			for (String lang : params.get(QUERY_PARAM_KEY_LANGUAGE)) {
-				if (this.resourceBundleRegistry.containsKey(lang)) {
+				if (this.resourceBundleRegistry.containsKey(toISO3Language(lang))) {
 					available = lang;
 					break;
 				} else {
@@ -274,7 +326,11 @@ final class CottonUI extends com.vaadin.ui.UI {
 	}
 
 	private void notifyNavigationAwares(NavigationType navigationChangeType, NavigationInitiator navigationInitiator) {
-		this.eventBus.dispatch(new NavigationEvent(navigationChangeType, navigationInitiator), null);
+		notifyNavigationAwares(new NavigationEvent(navigationChangeType, navigationInitiator));
+	}
+
+	private void notifyNavigationAwares(NavigationEvent event) {
+		this.eventBus.dispatch(event, null);
 	}
 
 	private boolean navigate(String urlPath, Map<String, String[]> params, boolean keepLanguageParam,
@@ -288,10 +344,10 @@ final class CottonUI extends com.vaadin.ui.UI {
 			navigationType = NavigationType.REFRESH;
 		}
 
-		if (this.urlRegistry.hasRedirectAt(urlPath)) {
-			String redirectedPath = this.urlRegistry.getRedirectAt(urlPath);
-			LOGGER.debug("URL segment path '" + urlPath + "' has been redirected to '" + redirectedPath + "'");
-			urlPath = redirectedPath;
+		UrlResourceRegistry.UrlMatch match = this.urlRegistry.match(urlPath);
+		if (match != null && match.isRedirect()) {
+			LOGGER.debug("URL segment path '" + urlPath + "' has been redirected to '" + match.getPath() + "'");
+			urlPath = match.getPath();
 		}
 
 		navigationType = redetermineNavigationType(navigationType, navigationInitiator);
@@ -303,6 +359,7 @@ final class CottonUI extends com.vaadin.ui.UI {
 
 			this.currentUrl = urlPath;
 			this.currentParams = new HashMap<>(params);
+			updateCurrentLocalization();
 
 			if (navigationType != NavigationType.REFRESH) {
 				appendToLog(SessionLogEntry.of(SessionLogContext.NAVIGATION, SessionLogType.INFO,
@@ -310,9 +367,10 @@ final class CottonUI extends com.vaadin.ui.UI {
 				updateUrl(createBrowserNavEntry);
 			}
 
+			NavigationEvent navigationEvent = new NavigationEvent(navigationType, navigationInitiator);
 			if (navigationType != NavigationType.QUERY_PARAM_CHANGE || currentView instanceof ErrorView) {
-				if (!this.urlRegistry.hasViewAt(urlPath)) {
-					if (this.urlRegistry.hasGoneAt(urlPath)) {
+				if (match == null || !match.isView()) {
+					if (match != null && match.isGone()) {
 						throw new WebException(HttpErrorCodes.HTTP410_GONE,
 								"The requested resource at '" + urlPath + "' is not existing anymore.");
 					} else {
@@ -322,7 +380,10 @@ final class CottonUI extends com.vaadin.ui.UI {
 				}
 
 				try {
-					doDisplay(this.urlRegistry.getViewAt(urlPath));
+					this.currentPathParams = match.getPathParams();
+					// THE VIEW'S SUBSCRIBERS HAVE TO RECEIVE THE NEW EVENT WHEN THEY ARE INITIALIZED, NOT THE PREVIOUS ONE
+					this.eventBus.retain(navigationEvent);
+					doDisplay(navigationType == NavigationType.SEGMENT_CHANGE ? urlPath : null, match.getView());
 				} catch (Throwable t) {
 					Throwable cause = ObjectUtils.defaultIfNull(ExceptionUtils.getRootCause(t), t);
 					if (cause instanceof WebException
@@ -342,7 +403,7 @@ final class CottonUI extends com.vaadin.ui.UI {
 				}
 			}
 
-			notifyNavigationAwares(navigationType, navigationInitiator);
+			notifyNavigationAwares(navigationEvent);
 			return true;
 		} else {
 			appendToLog(SessionLogEntry.of(SessionLogContext.NAVIGATION, SessionLogType.WARNING,
@@ -369,16 +430,138 @@ final class CottonUI extends com.vaadin.ui.UI {
 	}
 
 	<ViewType extends View> ViewType doDisplay(TypedBlueprint<ViewType> viewType) {
+		return doDisplay(null, viewType);
+	}
+
+	/**
+	 * Displays a view of the given type; if a URL path is given, the current view
+	 * is cached if @{@link KeepAlive} and a cached or prebuilt view at that path is
+	 * attached instead of building a new one.
+	 */
+	@SuppressWarnings("unchecked")
+	private <ViewType extends View> ViewType doDisplay(String urlPath, TypedBlueprint<ViewType> viewType) {
 		if (this.currentView != null) {
-			this.injector.destroy(this.currentView);
+			if (urlPath != null && this.currentViewSubscribers != null && this.viewCache.isEnabled()
+					&& this.currentView.getClass().isAnnotationPresent(KeepAlive.class)) {
+				this.viewCache.cache(this.currentViewPath, this.currentView, this.currentViewSubscribers);
+			} else {
+				this.injector.destroy(this.currentView);
+			}
 			this.currentView = null;
+			this.currentViewPath = null;
+			this.currentViewSubscribers = null;
 		}
-		ViewType view = this.injector.instantiate(viewType);
+
+		ViewCache.CachedView cached = urlPath == null ? null : this.viewCache.take(urlPath);
+
+		ViewType view;
+		EventBus.SubscriberGroup subscribers = null;
+		if (cached != null && cached.view.getClass() == viewType.getRootType()) {
+			cached.subscribers.resume();
+			view = (ViewType) cached.view;
+			subscribers = cached.subscribers;
+			LOGGER.debug("Attached the " + (cached.isPrebuilt ? "prebuilt" : "cached") + " view "
+					+ view.getClass().getSimpleName() + " at '" + urlPath + "'");
+		} else {
+			if (cached != null) {
+				this.injector.destroy(cached.view);
+			}
+			if (viewType.getRootType().isAnnotationPresent(KeepAlive.class)) {
+				subscribers = new EventBus.SubscriberGroup();
+				view = this.eventBus.capture(subscribers, () -> this.injector.instantiate(viewType));
+			} else {
+				view = this.injector.instantiate(viewType);
+			}
+		}
+
 		setContent(view);
 		this.currentView = view;
+		this.currentViewPath = urlPath;
+		this.currentViewSubscribers = subscribers;
+		if (urlPath != null) {
+			schedulePrebuild(view);
+		}
 		return view;
 	}
 
+	private void schedulePrebuild(View view) {
+		Set<String> routes = new LinkedHashSet<>();
+		Prebuild prebuild = view.getClass().getAnnotation(Prebuild.class);
+		if (prebuild != null) {
+			for (Class<? extends View> target : prebuild.value()) {
+				if (routes.size() == this.viewPrebuildLimit) {
+					break;
+				} else if (ViewCache.isPrebuildable(target)) {
+					routes.add(WebUtils.getAddressFrom(target).value());
+				} else {
+					LOGGER.debug("Skipping to prebuild the view " + target.getSimpleName()
+							+ ", since it depends on the parameters of the URL it is displayed at.");
+				}
+			}
+		}
+
+		this.viewCache.retainPrebuilt(routes);
+
+		if (!routes.isEmpty()) {
+			prebuildNext(view, new ArrayList<>(routes).iterator());
+		}
+	}
+
+	/*
+	 * Every view is built in its own access, so the session lock is released
+	 * between the views and requests of the UI do not wait until all of them are
+	 * built. The lock itself is required, since views read the state of their UI
+	 * while being built.
+	 */
+	private void prebuildNext(View origin, Iterator<String> routes) {
+		try {
+			this.prebuildExecutor.execute(() -> {
+				try {
+					access(() -> {
+						if (prebuild(origin, routes.next()) && routes.hasNext()) {
+							prebuildNext(origin, routes);
+						}
+					});
+				} catch (UIDetachedException e) {
+					// NOTHING TO PREBUILD FOR
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			LOGGER.warn("Unable to schedule prebuilding views; the executor rejected prebuilding.", e);
+		}
+	}
+
+	private boolean prebuild(View origin, String route) {
+		if (this.currentView != origin) {
+			return false;
+		} else if (route.equals(this.currentViewPath) || this.viewCache.contains(route)
+				|| this.viewCache.hasPrebuildFailed(route) || !this.urlRegistry.hasViewAt(route)) {
+			return true;
+		}
+
+		EventBus.SubscriberGroup subscribers = new EventBus.SubscriberGroup();
+		try {
+			// SUSPENDED BEFOREHAND, SO THE SUBSCRIBERS DO NOT RECEIVE ANY EVENT UNTIL THE VIEW IS DISPLAYED AND
+			// THE EVENTS DISPATCHED WHILE BUILDING IT ARE DEFERRED UNTIL THEN
+			subscribers.suspend();
+			View view = this.eventBus.capture(subscribers,
+					() -> this.injector.instantiate(this.urlRegistry.getViewAt(route)));
+			this.viewCache.prebuilt(route, view, subscribers);
+		} catch (RuntimeException e) {
+			this.viewCache.prebuildFailed(route);
+			Throwable cause = ObjectUtils.defaultIfNull(ExceptionUtils.getRootCause(e), e);
+			if (cause instanceof WebException
+					&& ((WebException) cause).getErrorCode() == HttpErrorCodes.HTTP403_FORBIDDEN) {
+				LOGGER.debug("Skipping to prebuild the view at '" + route + "', since it is restricted for the "
+						+ "current user; it will be built when navigated to.");
+			} else {
+				LOGGER.warn("Unable to prebuild the view at '" + route + "'; it will be built when navigated to.",
+						e);
+			}
+		}
+		return true;
+	}
+
 	private NavigationType redetermineNavigationType(NavigationType navigationChangeType, NavigationInitiator navigationInitiator) {
 		NavigationAnnouncementEvent event = new NavigationAnnouncementEvent(navigationChangeType, navigationInitiator);
 		this.eventBus.dispatch(event, null);
@@ -403,8 +586,17 @@ final class CottonUI extends com.vaadin.ui.UI {
 		return hasQueryParam(paramKey) ? this.currentParams.get(paramKey) : new String[0];
 	}
 
+	final boolean hasPathParam(String paramName) {
+		return this.currentPathParams.containsKey(paramName);
+	}
+
+	final String getPathParam(String paramName) {
+		return this.currentPathParams.get(paramName);
+	}
+
 	final void setQueryParam(String key, String... values) {
 		this.currentParams.put(key, values);
+		updateCurrentLocalization();
 		updateUrl(false);
 		appendToLog(SessionLogEntry.of(SessionLogContext.NAVIGATION, SessionLogType.INFO,
 				"Query param '" + key + "' set to [" + StringUtils.join(values, '/') + "] set."));
@@ -415,6 +607,7 @@ final class CottonUI extends com.vaadin.ui.UI {
 		if (this.currentParams.containsKey(key)) {
 			String[] values = currentParams.get(key);
 			this.currentParams.remove(key);
+			updateCurrentLocalization();
 			updateUrl(false);
 			appendToLog(SessionLogEntry.of(SessionLogContext.NAVIGATION, SessionLogType.INFO,
 					"Query param '" + key + "' with values [" + StringUtils.join(values, '/') + "] removed."));
@@ -491,15 +684,45 @@ final class CottonUI extends com.vaadin.ui.UI {
 
 	// ########## Internally Usable ##########
 
+	private void updateCurrentLocalization() {
+		updateCurrentLocalization(this.currentParams.containsKey(QUERY_PARAM_KEY_LANGUAGE)
+				? this.currentParams.get(QUERY_PARAM_KEY_LANGUAGE)[0]
+				: this.defaultLang);
+	}
+
+	/**
+	 * Resolves the {@link Locale} and {@link LocalizationResource} of the given
+	 * language once, so localizing does not have to until the language changes.
+	 */
+	private void updateCurrentLocalization(String lang) {
+		String iso3Lang = toISO3Language(lang);
+		if (!iso3Lang.equals(this.currentLang)) {
+			this.currentLang = iso3Lang;
+			this.currentLocale = new Locale(lang);
+			this.currentLocalization = this.resourceBundleRegistry.get(iso3Lang);
+		}
+	}
+
+	/**
+	 * Normalizes the given language, which might be given as 2 or 3 letter code,
+	 * to the ISO3 code the {@link LocalizationResource}s are registered by.
+	 *
+	 * @return The ISO3 language; the given language if it is unknown
+	 */
+	static String toISO3Language(String lang) {
+		try {
+			return new Locale(lang).getISO3Language();
+		} catch (MissingResourceException e) {
+			return lang;
+		}
+	}
+
 	final boolean isCurrentDefaultLocale() {
-		return !this.currentParams.containsKey(QUERY_PARAM_KEY_LANGUAGE)
-				|| this.defaultLang.equals(this.currentParams.get(QUERY_PARAM_KEY_LANGUAGE)[0]);
+		return this.defaultLang.equals(this.currentLang);
 	}
 
 	final Locale getCurrentLocale() {
-		return new Locale(this.currentParams.containsKey(QUERY_PARAM_KEY_LANGUAGE)
-				? this.currentParams.get(QUERY_PARAM_KEY_LANGUAGE)[0]
-				: this.defaultLang);
+		return this.currentLocale;
 	}
 
 	final void setCurrentLocale(Locale locale) {
@@ -508,7 +731,7 @@ final class CottonUI extends com.vaadin.ui.UI {
 				throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
 						"The given locale's ISO3 language was blank; cannot switch the UI to a blank language.");
 			}
-			if (!locale.getISO3Language().equals(getCurrentLocale().getISO3Language())) {
+			if (!locale.getISO3Language().equals(this.currentLocale.getISO3Language())) {
 				if (locale.getISO3Language().equals(this.defaultLang)) {
 					removeQueryParam(QUERY_PARAM_KEY_LANGUAGE);
 					refresh();
@@ -531,22 +754,23 @@ final class CottonUI extends com.vaadin.ui.UI {
 	}
 	
 	final boolean canLocalize(String msgId) {
-		if (msgId != null) {
-			String lang = getCurrentLocale().getISO3Language();
-			if (this.resourceBundleRegistry.containsKey(lang)) {
-				return this.resourceBundleRegistry.get(lang).hasLocalization(msgId);
-			}
+		if (msgId != null && this.currentLocalization != null) {
+			return this.currentLocalization.hasLocalization(msgId);
 		}
 		return false;
 	}
 
+	final String localize(String msgId, Map<String, Object> namedMsgParameters) {
+		return localize(msgId, namedMsgParameters, ArrayUtils.EMPTY_OBJECT_ARRAY);
+	}
+
 	final String localize(String msgId, Map<String, Object> namedMsgParameters, Object... indexedMsgParameters) {
 		if (msgId != null) {
-			String lang = getCurrentLocale().getISO3Language();
-			if (this.resourceBundleRegistry.containsKey(lang)) {
-				return this.resourceBundleRegistry.get(lang).renderMessage(msgId, namedMsgParameters, indexedMsgParameters);
+			if (this.currentLocalization != null) {
+				return this.currentLocalization.renderMessage(msgId, namedMsgParameters, indexedMsgParameters);
 			} else if (msgId.matches(REGEX_TYPICAL_MESSAGE_ID)) {
-				CottonUI.LOGGER.warn("Unable to localize '" + msgId + "'; no bundle for language '" + lang + "'.");
+				CottonUI.LOGGER.warn(
+						"Unable to localize '" + msgId + "'; no bundle for language '" + this.currentLang + "'.");
 			}
 			return msgId;
 		} else {
@@ -569,8 +793,8 @@ final class CottonUI extends com.vaadin.ui.UI {
 				: UserChangeAllowance.DECLINE;
 	}
 
-	private void notifyUserAwares(UserChangeType userChangeType) {
-		this.eventBus.dispatch(new UserChangeEvent(userChangeType), null);
+	private void notifyUserAwares(UserChangeEvent event) {
+		this.eventBus.dispatch(event, null);
 	}
 
 	// ########## Internally Usable ##########
@@ -599,13 +823,17 @@ final class CottonUI extends com.vaadin.ui.UI {
 						"There is already a user logged in!");
 			}
 			this.user = user;
+			// RETAINED BEFORE A REFRESH, SO THE VIEWS CREATED BY IT ALREADY RECEIVE IT UPON INITIALIZATION
+			UserChangeEvent userChangeEvent = new UserChangeEvent(UserChangeType.LOGIN);
+			this.eventBus.retain(userChangeEvent);
+			this.viewCache.clear();
 			CottonUI.LOGGER.info("User '" + this.user + "' logged in.");
 			appendToLog(
 					SessionLogEntry.of(SessionLogContext.USER, SessionLogType.INFO, "User '" + user + "' logged in."));
 			if (allow == UserChangeAllowance.REFRESH) {
 				refresh();
 			}
-			notifyUserAwares(UserChangeType.LOGIN);
+			notifyUserAwares(userChangeEvent);
 		} else {
 			appendToLog(SessionLogEntry.of(SessionLogContext.USER, SessionLogType.WARNING,
 					"Login of user '" + user + "' denied."));
@@ -631,12 +859,15 @@ final class CottonUI extends com.vaadin.ui.UI {
 			if (allow != UserChangeAllowance.DECLINE) {
 				CottonUI.LOGGER.info("User '" + this.user + "' logged out.");
 				this.user = null;
+				UserChangeEvent userChangeEvent = new UserChangeEvent(UserChangeType.LOGOUT);
+				this.eventBus.retain(userChangeEvent);
+				this.viewCache.clear();
 				appendToLog(SessionLogEntry.of(SessionLogContext.USER, SessionLogType.INFO,
 						"User '" + user + "' logged out."));
 				if (allow == UserChangeAllowance.REFRESH) {
 					refresh();
 				}
-				notifyUserAwares(UserChangeType.LOGOUT);
+				notifyUserAwares(userChangeEvent);
 				return true;
 			} else {
 				appendToLog(SessionLogEntry.of(SessionLogContext.USER, SessionLogType.WARNING,
@@ -0,0 +1,264 @@
+package com.mantledillusion.vaadin.cotton;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.exception.WebException;
+import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
+import com.vaadin.server.VaadinSession;
+import com.vaadin.shared.communication.PushMode;
+import com.vaadin.ui.UI;
+import com.vaadin.ui.UIDetachedException;
+
+/**
+ * Bounded queue of dispatches of an {@link EventBus}, drained in batches.
+ * <p>
+ * All events queued while a drain is pending are delivered within a single
+ * {@link UI#access(Runnable)}, so a burst of events causes only one round trip
+ * to the client.
+ */
+final class DispatchQueue {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DispatchQueue.class);
+
+	static final int DEFAULT_CAPACITY = 1024;
+	static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 10000;
+
+	private static final class QueuedDispatch {
+
+		private final BusEvent event;
+		private final EventBusSubscriber dispatcher;
+
+		private QueuedDispatch(BusEvent event, EventBusSubscriber dispatcher) {
+			this.event = event;
+			this.dispatcher = dispatcher;
+		}
+	}
+
+	private final EventBus bus;
+	private final UI ui;
+	private final Executor executor;
+	private final int capacity;
+	private final QueueOverflowPolicy policy;
+	private final String coalescingKey;
+	private final long blockTimeoutMillis;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notFull = this.lock.newCondition();
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	/*
+	 * Keyed by the coalescing property's value or by a unique object for events
+	 * that are not coalesced; replacing an existing key keeps its position.
+	 */
+	private LinkedHashMap<Object, QueuedDispatch> queue = new LinkedHashMap<>();
+	private boolean closed;
+
+	DispatchQueue(EventBus bus, UI ui, Executor executor, int capacity, QueueOverflowPolicy policy,
+			String coalescingKey) {
+		this(bus, ui, executor, capacity, policy, coalescingKey, DEFAULT_BLOCK_TIMEOUT_MILLIS);
+	}
+
+	DispatchQueue(EventBus bus, UI ui, Executor executor, int capacity, QueueOverflowPolicy policy,
+			String coalescingKey, long blockTimeoutMillis) {
+		this.bus = bus;
+		this.ui = ui;
+		this.executor = executor;
+		this.capacity = capacity;
+		this.policy = policy;
+		this.coalescingKey = coalescingKey;
+		this.blockTimeoutMillis = blockTimeoutMillis;
+	}
+
+	void enqueue(BusEvent event, EventBusSubscriber dispatcher) {
+		if (event == null) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR, "Unable to queue a null event.");
+		}
+
+		Object key = this.policy == QueueOverflowPolicy.KEEP_LATEST_PER_KEY && event.hasProperty(this.coalescingKey)
+				? new CoalescingKey(event.getClass(), event.getProperty(this.coalescingKey))
+				: new Object();
+		QueuedDispatch dispatch = new QueuedDispatch(event, dispatcher);
+
+		this.lock.lock();
+		try {
+			checkOpen(event);
+			long remainingNanos = TimeUnit.MILLISECONDS.toNanos(this.blockTimeoutMillis);
+			if (!this.queue.containsKey(key)) {
+				while (this.queue.size() >= this.capacity) {
+					if (this.policy != QueueOverflowPolicy.BLOCK) {
+						Iterator<QueuedDispatch> oldest = this.queue.values().iterator();
+						oldest.next();
+						oldest.remove();
+					} else if (holdsSessionLock()) {
+						this.lock.unlock();
+						try {
+							drain();
+						} finally {
+							this.lock.lock();
+						}
+					} else if (remainingNanos <= 0) {
+						throw new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR,
+								"Unable to queue event of type " + event.getClass().getSimpleName()
+										+ "; the queue has not been drained within " + this.blockTimeoutMillis
+										+ "ms.");
+					} else {
+						try {
+							remainingNanos = this.notFull.awaitNanos(remainingNanos);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							throw new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR,
+									"Unable to queue event of type " + event.getClass().getSimpleName()
+											+ "; the queuing thread has been interrupted while waiting for room.",
+									e);
+						}
+						checkOpen(event);
+					}
+				}
+			}
+			this.queue.put(key, dispatch);
+		} finally {
+			this.lock.unlock();
+		}
+
+		schedule();
+	}
+
+	private void checkOpen(BusEvent event) {
+		if (this.closed) {
+			throw new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR, "Unable to queue event of type "
+					+ event.getClass().getSimpleName() + "; the UI of the queue has been detached.");
+		}
+	}
+
+	/**
+	 * Closes the queue when its {@link UI} is detached; queued events are
+	 * discarded, threads blocked by {@link QueueOverflowPolicy#BLOCK} are released
+	 * and further events are rejected.
+	 */
+	void close() {
+		this.lock.lock();
+		try {
+			this.closed = true;
+		} finally {
+			this.lock.unlock();
+		}
+		discard();
+	}
+
+	private boolean holdsSessionLock() {
+		VaadinSession session = this.ui == null ? null : this.ui.getSession();
+		return session != null && session.hasLock();
+	}
+
+	private void schedule() {
+		if (this.scheduled.compareAndSet(false, true)) {
+			try {
+				this.executor.execute(this::deliver);
+			} catch (RejectedExecutionException e) {
+				this.scheduled.set(false);
+				LOGGER.warn("Unable to schedule delivering queued events; the executor rejected the delivery.", e);
+			}
+		}
+	}
+
+	private void deliver() {
+		if (this.ui == null) {
+			deliverBatch();
+			return;
+		}
+		try {
+			this.ui.access(this::deliverBatch);
+		} catch (UIDetachedException e) {
+			discard();
+		} catch (RuntimeException e) {
+			this.scheduled.set(false);
+			LOGGER.warn("Unable to deliver queued events.", e);
+		}
+	}
+
+	private void deliverBatch() {
+		try {
+			drain();
+			if (this.ui != null && this.ui.getPushConfiguration().getPushMode() == PushMode.MANUAL) {
+				this.ui.push();
+			}
+		} finally {
+			// A FAILING BATCH MUST NOT PREVENT LATER EVENTS FROM BEING DELIVERED
+			this.scheduled.set(false);
+			this.lock.lock();
+			try {
+				if (!this.queue.isEmpty()) {
+					schedule();
+				}
+			} finally {
+				this.lock.unlock();
+			}
+		}
+	}
+
+	private void discard() {
+		this.lock.lock();
+		try {
+			this.queue = new LinkedHashMap<>();
+			this.notFull.signalAll();
+		} finally {
+			this.scheduled.set(false);
+			this.lock.unlock();
+		}
+	}
+
+	private void drain() {
+		List<QueuedDispatch> batch;
+		this.lock.lock();
+		try {
+			batch = new ArrayList<>(this.queue.values());
+			this.queue = new LinkedHashMap<>();
+			this.notFull.signalAll();
+		} finally {
+			this.lock.unlock();
+		}
+
+		for (QueuedDispatch dispatch : batch) {
+			this.bus.dispatch(dispatch.event, dispatch.dispatcher);
+		}
+	}
+
+	private static final class CoalescingKey {
+
+		private final Class<?> eventType;
+		private final String value;
+
+		private CoalescingKey(Class<?> eventType, String value) {
+			this.eventType = eventType;
+			this.value = value;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.eventType.hashCode() + (this.value == null ? 0 : this.value.hashCode());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CoalescingKey)) {
+				return false;
+			}
+			CoalescingKey other = (CoalescingKey) obj;
+			return this.eventType == other.eventType
+					&& (this.value == null ? other.value == null : this.value.equals(other.value));
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.lang.reflect.Constructor;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+
+/**
+ * {@link Annotation} for {@link BusEvent} implementations that are distributed
+ * to all nodes of the application when they are broadcast on a
+ * {@link BroadcastBus} that uses an {@link EventTransport}.
+ * <P>
+ * Only the properties of a distributed {@link BusEvent} are transported; on the
+ * receiving nodes, the event is re-created using its no-argument
+ * {@link Constructor} and the properties are set on the new instance. As a
+ * result, the annotated type is required to have such a {@link Constructor}
+ * and should not carry any state beside its properties.
+ * <P>
+ * The annotation is not inherited; every distributable sub type has to be
+ * annotated on its own.
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface Distributable {
+
+}
@@ -1,118 +1,1278 @@
 package com.mantledillusion.vaadin.cotton;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.IdentityHashMap;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
 import com.mantledillusion.vaadin.cotton.exception.WebException;
 import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Scoped;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+import com.vaadin.ui.Component;
+import com.vaadin.ui.UI;
+import com.vaadin.ui.UIDetachedException;
 
+/**
+ * Event bus connecting all {@link EventBusSubscriber}s of a {@link CottonUI}.
+ * <p>
+ * The bus never locks; all subscriptions are held in an immutable
+ * {@link Registry} snapshot that is replaced atomically whenever a subscriber
+ * is added or removed. Dispatching reads the snapshot that is current at the
+ * time of the dispatch, so subscribers added during a dispatch will not receive
+ * the dispatched event, while subscribers removed during a dispatch are skipped.
+ */
 final class EventBus {
-	
-	static final String PRESENTER_EVENT_BUS_ID = "_presenterEventBus";
 
-	private final class Subscriber {
+	private static final Logger LOGGER = LoggerFactory.getLogger(EventBus.class);
 
-		final EventBusSubscriber subscriber;
-		final Map<Method, Subscribable> methods = new HashMap<>();
+	static final String PRESENTER_EVENT_BUS_ID = "_presenterEventBus";
+	static final int DEFAULT_MAX_DISPATCH_DEPTH = 64;
+	static final int DEFAULT_MAX_CONCURRENT_ASYNC_DISPATCHES = 1;
 
-		private Subscriber(EventBusSubscriber presenter) {
-			this.subscriber = presenter;
-		}
-	}
+	private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+	private static final int[] NO_CANDIDATES = new int[0];
+	private static final Component[] NO_SCOPES = new Component[0];
+	private static final Object GLOBAL_SCOPE = new Object();
+	private static final Comparator<Subscription> BY_DESCENDING_PRIORITY = (s1, s2) -> {
+		int byPriority = Integer.compare(s2.subscribable.priority, s1.subscribable.priority);
+		return byPriority != 0 ? byPriority : Long.compare(s1.subscriber.sequence, s2.subscriber.sequence);
+	};
 
-	private final class Subscribable {
+	/**
+	 * A single {@link Method} of an {@link EventBusSubscriber} subscribing to a
+	 * single {@link BusEvent} type.
+	 */
+	static final class Subscribable {
 
-		final boolean methodRequiresEvent;
+		final Class<? extends BusEvent> eventType;
+		final Method method;
+		final MethodHandle invoker;
 		final boolean isSelfObservant;
+		final int priority;
+		final boolean isSticky;
+		final boolean isAsync;
 		final Map<String, String> properties;
+		final String[] propertyKeys;
+		final String[] propertyValues;
+		final String indexedPropertyKey;
+		final boolean requiresPropertyCheck;
 
-		private Subscribable(boolean methodRequiresEvent, boolean isSelfObservant, Map<String, String> properties) {
-			this.methodRequiresEvent = methodRequiresEvent;
+		/**
+		 * The given invoker has to be bound to the {@link Method} with the type
+		 * (EventBusSubscriber, BusEvent)void, so it can be called using
+		 * {@link MethodHandle#invokeExact(Object...)} upon dispatching.
+		 */
+		Subscribable(Class<? extends BusEvent> eventType, Method method, MethodHandle invoker,
+				boolean isSelfObservant, int priority, boolean isSticky, boolean isAsync,
+				Map<String, String> properties) {
+			this.eventType = eventType;
+			this.method = method;
+			this.invoker = invoker;
 			this.isSelfObservant = isSelfObservant;
+			this.priority = priority;
+			this.isSticky = isSticky;
+			this.isAsync = isAsync;
 			this.properties = properties;
+			int propertyCount = properties == null ? 0 : properties.size();
+			this.propertyKeys = new String[propertyCount];
+			this.propertyValues = new String[propertyCount];
+			if (propertyCount > 0) {
+				int i = 0;
+				for (Entry<String, String> property : properties.entrySet()) {
+					this.propertyKeys[i] = property.getKey().intern();
+					this.propertyValues[i] = property.getValue();
+					i++;
+				}
+			}
+			this.indexedPropertyKey = properties == null || properties.isEmpty() ? null
+					: Collections.min(properties.keySet());
+			this.requiresPropertyCheck = properties != null && properties.size() > 1;
+		}
+	}
+
+	/**
+	 * The @{@link Scoped} {@link Component}s in the hierarchy of a scope anchor,
+	 * from the nearest to the farthest.
+	 * <p>
+	 * A resolution stays valid as long as the anchor is the same and the top of its
+	 * hierarchy has not been added to a parent since; so once the hierarchy
+	 * reaches up to a {@link UI}, the resolution is final.
+	 */
+	private static final class ScopeResolution {
+
+		final Component anchor;
+		final Component top;
+		final Component[] scopes;
+
+		private ScopeResolution(Component anchor, Component top, Component[] scopes) {
+			this.anchor = anchor;
+			this.top = top;
+			this.scopes = scopes;
+		}
+
+		boolean isValidFor(Component anchor) {
+			return this.anchor == anchor && (this.top == null || this.top.getParent() == null);
+		}
+
+		boolean isFinal() {
+			return this.top instanceof UI;
+		}
+
+		boolean isIn(Component scope, boolean includeNestedScopes) {
+			if (includeNestedScopes) {
+				for (Component subscriberScope : this.scopes) {
+					if (subscriberScope == scope) {
+						return true;
+					}
+				}
+				return false;
+			} else {
+				return (this.scopes.length == 0 ? null : this.scopes[0]) == scope;
+			}
+		}
+	}
+
+	/**
+	 * The record of a subscribed {@link EventBusSubscriber}.
+	 */
+	static final class Subscriber {
+
+		final EventBusSubscriber subscriber;
+		final long sequence;
+		final List<Subscribable> subscribables;
+		volatile boolean active = true;
+		volatile boolean suspended;
+		volatile ScopeResolution scopes;
+
+		// STICKY REPLAY; THE RETENTION UP TO WHICH THE SUBSCRIBER KNOWS THE RETAINED EVENTS, -1 IF NONE
+		private boolean replayable;
+		private long replayedRetention = -1;
+
+		private Subscriber(EventBusSubscriber subscriber, long sequence, List<Subscribable> subscribables) {
+			this.subscriber = subscriber;
+			this.sequence = sequence;
+			this.subscribables = subscribables;
+		}
+	}
+
+	private static final class Subscription {
+
+		final Subscriber subscriber;
+		final Subscribable subscribable;
+
+		private Subscription(Subscriber subscriber, Subscribable subscribable) {
+			this.subscriber = subscriber;
+			this.subscribable = subscribable;
+		}
+	}
+
+	/**
+	 * The {@link Subscriber}s that subscribed during {@link EventBus#capture}; while
+	 * the group is suspended, no events are delivered to its {@link Subscriber}s.
+	 * <p>
+	 * {@link Subscriber}s captured while the group is suspended start suspended;
+	 * upon resuming, they receive the @{@link Sticky} events retained while they
+	 * were suspended.
+	 * <p>
+	 * Events dispatched during {@link EventBus#capture} while the group is
+	 * suspended are deferred until the group is resumed, so building a view in
+	 * the background does not affect the displayed one.
+	 */
+	static final class SubscriberGroup {
+
+		private final List<Subscriber> subscribers = new ArrayList<>();
+		private List<Runnable> deferred = new ArrayList<>();
+		private EventBus bus;
+		private boolean suspended;
+
+		private void add(EventBus bus, Subscriber subscriber) {
+			this.bus = bus;
+			subscriber.suspended = this.suspended;
+			this.subscribers.add(subscriber);
+		}
+
+		void suspend() {
+			this.suspended = true;
+			for (Subscriber subscriber : this.subscribers) {
+				this.bus.suspend(subscriber);
+			}
+		}
+
+		void resume() {
+			this.suspended = false;
+			for (Subscriber subscriber : this.subscribers) {
+				this.bus.resume(subscriber);
+			}
+
+			List<Runnable> deferred = this.deferred;
+			this.deferred = new ArrayList<>();
+			for (Runnable dispatch : deferred) {
+				dispatch.run();
+			}
+		}
+	}
+
+	/**
+	 * A retained instance of a @{@link Sticky} event type.
+	 * <p>
+	 * An instance that has been retained before being dispatched keeps the
+	 * {@link Subscriber}s it has been replayed to until its dispatch, so it is not
+	 * delivered to them twice.
+	 */
+	private static final class RetainedEvent {
+
+		final BusEvent event;
+		final long dispatcherSequence;
+		final long retention;
+		Set<Subscriber> replayedTo;
+
+		private RetainedEvent(BusEvent event, long dispatcherSequence, long retention, boolean isPending) {
+			this.event = event;
+			this.dispatcherSequence = dispatcherSequence;
+			this.retention = retention;
+			this.replayedTo = isPending ? new HashSet<>() : null;
+		}
+	}
+
+	/**
+	 * All {@link Subscription}s of a specific {@link BusEvent} type and its super
+	 * types, indexed by the {@link Subscribe.EventProperty}s they filter for.
+	 * <p>
+	 * Every {@link Subscription} that filters for properties is indexed by one
+	 * (key, value) pair of its filter, so only those {@link Subscription}s whose
+	 * indexed pair is matched by an event's properties have to be visited upon
+	 * dispatching.
+	 * <p>
+	 * The {@link Subscription}s are ordered by descending
+	 * {@link Subscribe#priority()}, so visiting them in ascending index order
+	 * delivers to higher priorities first; {@link Subscription}s of equal priority
+	 * are ordered by the time their {@link Subscriber}s subscribed.
+	 * <p>
+	 * For every indexed (key, value) pair, the table holds the sorted union of the
+	 * unfiltered {@link Subscription}s and those indexed by the pair, so an event
+	 * matching a single indexed pair is dispatched without allocating.
+	 * <p>
+	 * For scoped dispatching, the table lazily indexes the {@link Subscription}s
+	 * by the @{@link Scoped} scopes dispatched into, so only the
+	 * {@link Subscription}s of a scope have to be visited.
+	 */
+	private static final class DispatchTable {
+
+		final Subscription[] subscriptions;
+		final int[] unfiltered;
+		final String[] filteredKeys;
+		final Map<String, int[]>[] filteredCandidates;
+		private final Map<Object, int[]> scopeCandidates = Collections.synchronizedMap(new WeakHashMap<>());
+		private final Map<Object, int[]> nestedScopeCandidates = Collections.synchronizedMap(new WeakHashMap<>());
+
+		@SuppressWarnings("unchecked")
+		private DispatchTable(List<Subscription> subscriptions) {
+			subscriptions.sort(BY_DESCENDING_PRIORITY);
+			this.subscriptions = subscriptions.isEmpty() ? NO_SUBSCRIPTIONS
+					: subscriptions.toArray(new Subscription[subscriptions.size()]);
+
+			List<Integer> unfiltered = new ArrayList<>();
+			Map<String, Map<String, List<Integer>>> filtered = new HashMap<>();
+			for (int i = 0; i < this.subscriptions.length; i++) {
+				Subscribable subscribable = this.subscriptions[i].subscribable;
+				if (subscribable.indexedPropertyKey == null) {
+					unfiltered.add(i);
+				} else {
+					filtered.computeIfAbsent(subscribable.indexedPropertyKey, key -> new HashMap<>())
+							.computeIfAbsent(subscribable.properties.get(subscribable.indexedPropertyKey),
+									value -> new ArrayList<>())
+							.add(i);
+				}
+			}
+
+			this.unfiltered = toArray(unfiltered);
+			this.filteredKeys = new String[filtered.size()];
+			this.filteredCandidates = new Map[filtered.size()];
+			int i = 0;
+			for (Entry<String, Map<String, List<Integer>>> key : filtered.entrySet()) {
+				Map<String, int[]> values = new HashMap<>();
+				for (Entry<String, List<Integer>> value : key.getValue().entrySet()) {
+					values.put(value.getKey(), union(this.unfiltered, toArray(value.getValue())));
+				}
+				this.filteredKeys[i] = key.getKey();
+				this.filteredCandidates[i] = values;
+				i++;
+			}
+		}
+
+		/**
+		 * Returns the ascending indices of all {@link Subscription}s whose indexed
+		 * property filter can match the given event.
+		 */
+		int[] getCandidates(BusEvent event) {
+			if (this.filteredKeys.length == 0 || !event.hasProperties()) {
+				return this.unfiltered;
+			}
+
+			int[] candidates = this.unfiltered;
+			for (int i = 0; i < this.filteredKeys.length; i++) {
+				if (event.hasProperty(this.filteredKeys[i])) {
+					int[] matching = this.filteredCandidates[i].get(event.getProperty(this.filteredKeys[i]));
+					if (matching != null) {
+						// ONLY EVENTS MATCHING MULTIPLE INDEXED KEYS REQUIRE A MERGE
+						candidates = candidates == this.unfiltered ? matching : union(candidates, matching);
+					}
+				}
+			}
+			return candidates;
+		}
+
+		/**
+		 * Returns the ascending indices of all {@link Subscription}s whose
+		 * {@link Subscriber} can be in the given scope.
+		 * <p>
+		 * The scope of a {@link Subscriber} whose {@link ScopeResolution} is not final
+		 * yet might still change, so such {@link Subscriber}s are always included.
+		 */
+		int[] getScopeCandidates(Component scope, boolean includeNestedScopes) {
+			Map<Object, int[]> index = includeNestedScopes ? this.nestedScopeCandidates : this.scopeCandidates;
+			Object key = scope == null ? GLOBAL_SCOPE : scope;
+			int[] candidates = index.get(key);
+			if (candidates == null) {
+				List<Integer> inScope = new ArrayList<>();
+				for (int i = 0; i < this.subscriptions.length; i++) {
+					ScopeResolution resolution = resolveScopes(this.subscriptions[i].subscriber);
+					if (!resolution.isFinal() || resolution.isIn(scope, includeNestedScopes)) {
+						inScope.add(i);
+					}
+				}
+				candidates = toArray(inScope);
+				index.put(key, candidates);
+			}
+			return candidates;
+		}
+
+		private static int[] toArray(List<Integer> indices) {
+			return indices.isEmpty() ? NO_CANDIDATES : indices.stream().mapToInt(Integer::intValue).toArray();
+		}
+
+		/**
+		 * Merges the given ascending arrays into one ascending array without
+		 * duplicates.
+		 */
+		private static int[] union(int[] a, int[] b) {
+			if (a.length == 0) {
+				return b;
+			} else if (b.length == 0) {
+				return a;
+			}
+			int[] merged = new int[a.length + b.length];
+			int i = 0, j = 0, k = 0;
+			while (i < a.length && j < b.length) {
+				if (a[i] < b[j]) {
+					merged[k++] = a[i++];
+				} else if (a[i] > b[j]) {
+					merged[k++] = b[j++];
+				} else {
+					merged[k++] = a[i++];
+					j++;
+				}
+			}
+			while (i < a.length) {
+				merged[k++] = a[i++];
+			}
+			while (j < b.length) {
+				merged[k++] = b[j++];
+			}
+			return k == merged.length ? merged : Arrays.copyOf(merged, k);
+		}
+
+		/**
+		 * Returns the ascending indices contained by both of the given ascending
+		 * arrays.
+		 */
+		private static int[] intersection(int[] a, int[] b) {
+			int[] intersected = new int[Math.min(a.length, b.length)];
+			int i = 0, j = 0, k = 0;
+			while (i < a.length && j < b.length) {
+				if (a[i] < b[j]) {
+					i++;
+				} else if (a[i] > b[j]) {
+					j++;
+				} else {
+					intersected[k++] = a[i++];
+					j++;
+				}
+			}
+			return k == intersected.length ? intersected : Arrays.copyOf(intersected, k);
+		}
+	}
+
+	private static final class Registry {
+
+		final Map<Class<? extends BusEvent>, Subscription[]> subscriptions;
+		final ConcurrentMap<Class<? extends BusEvent>, DispatchTable> dispatchTables = new ConcurrentHashMap<>();
+
+		private Registry(Map<Class<? extends BusEvent>, Subscription[]> subscriptions) {
+			this.subscriptions = subscriptions;
+		}
+
+		private DispatchTable getDispatchTable(Class<? extends BusEvent> eventType) {
+			DispatchTable table = this.dispatchTables.get(eventType);
+			if (table == null) {
+				List<Subscription> subscriptions = new ArrayList<>();
+				Class<?> type = eventType;
+				while (type != BusEvent.class) {
+					Subscription[] typeSubscriptions = this.subscriptions.get(type);
+					if (typeSubscriptions != null) {
+						Collections.addAll(subscriptions, typeSubscriptions);
+					}
+					type = type.getSuperclass();
+				}
+				table = new DispatchTable(subscriptions);
+				DispatchTable existing = this.dispatchTables.putIfAbsent(eventType, table);
+				if (existing != null) {
+					table = existing;
+				}
+			}
+			return table;
+		}
+	}
+
+	private final class AsyncDispatch {
+
+		final BusEvent event;
+		final EventBusSubscriber dispatcher;
+		final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+		private AsyncDispatch(BusEvent event, EventBusSubscriber dispatcher) {
+			this.event = event;
+			this.dispatcher = dispatcher;
+		}
+
+		private void run() {
+			try {
+				this.future.complete(dispatch(this.event, this.dispatcher));
+			} catch (Throwable t) {
+				this.future.completeExceptionally(t);
+			}
+		}
+	}
+
+	/**
+	 * The delivery of an event to a {@link Subscribable#isAsync}
+	 * {@link Subscribable}, which is executed by the bus' {@link Executor} without
+	 * holding the session lock of the bus' {@link UI}.
+	 */
+	private final class AsyncInvocation implements Runnable {
+
+		final Subscriber subscriber;
+		final Subscribable subscribable;
+		final BusEvent event;
+
+		private AsyncInvocation(Subscriber subscriber, Subscribable subscribable, BusEvent event) {
+			this.subscriber = subscriber;
+			this.subscribable = subscribable;
+			this.event = event;
+		}
+
+		@Override
+		public void run() {
+			asyncInvocation.set(this);
+			try {
+				if (!closed && this.subscriber.active) {
+					long start = isTimed ? System.nanoTime() : 0;
+					this.subscribable.invoker.invokeExact(this.subscriber.subscriber, this.event);
+					if (isTimed) {
+						measure(this.event, this.subscriber, this.subscribable, System.nanoTime() - start);
+					}
+				}
+			} catch (Throwable t) {
+				// THERE IS NO DISPATCHER WAITING FOR THE RESULT THAT COULD HANDLE THE ERROR
+				LOGGER.error("Unable to deliver an event of type {} asynchronously to the subscriber {}.{}()",
+						this.event.getClass().getSimpleName(), this.subscriber.subscriber.getClass().getName(),
+						this.subscribable.method.getName(), t);
+			} finally {
+				asyncInvocation.remove();
+				asyncInvocationsInFlight.decrementAndGet();
+				startAsyncInvocations();
+			}
+		}
+	}
+
+	/**
+	 * The chain of dispatches of an {@link EventBus} currently running on a
+	 * thread; every frame holds the dispatched event type and the
+	 * {@link Subscription} it is currently delivered to.
+	 * <p>
+	 * Every {@link EventBus} keeps its own chains, so a dispatch to another
+	 * {@link CottonUI} that runs on the same thread (such as a broadcast or a
+	 * queued delivery) does not count against the cascade of this one.
+	 */
+	private static final class DispatchChain {
+
+		private Class<?>[] eventTypes = new Class<?>[8];
+		private Subscription[] subscriptions = new Subscription[8];
+		private int depth;
+		private int nestedDispatches;
+
+		private void push(Class<?> eventType) {
+			if (this.depth == this.eventTypes.length) {
+				this.eventTypes = Arrays.copyOf(this.eventTypes, this.depth * 2);
+				this.subscriptions = Arrays.copyOf(this.subscriptions, this.depth * 2);
+			}
+			this.eventTypes[this.depth] = eventType;
+			if (this.depth > 0) {
+				this.nestedDispatches++;
+			}
+			this.depth++;
+		}
+
+		private void deliverTo(Subscription subscription) {
+			this.subscriptions[this.depth - 1] = subscription;
+		}
+
+		private void pop() {
+			this.depth--;
+			this.eventTypes[this.depth] = null;
+			this.subscriptions[this.depth] = null;
+		}
+
+		private String describe(Class<?> exceedingEventType) {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < this.depth; i++) {
+				sb.append("\n\t").append(this.eventTypes[i].getSimpleName()).append(" -> ");
+				Subscription subscription = this.subscriptions[i];
+				if (subscription == null) {
+					sb.append('?');
+				} else {
+					sb.append(subscription.subscriber.subscriber.getClass().getName()).append('.')
+							.append(subscription.subscribable.method.getName()).append("()");
+				}
+			}
+			return sb.append("\n\t").append(exceedingEventType.getSimpleName()).toString();
 		}
 	}
 
-	private final Map<Class<? extends BusEvent>, IdentityHashMap<EventBusSubscriber, Subscriber>> subscribers = new HashMap<>();
-	
+	private static final ClassValue<Boolean> STICKY_TYPES = new ClassValue<Boolean>() {
+
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return type.isAnnotationPresent(Sticky.class);
+		}
+	};
+
+	private final AtomicReference<Registry> registry = new AtomicReference<>(
+			new Registry(Collections.emptyMap()));
+	private final ThreadLocal<DispatchChain> dispatchChains = ThreadLocal.withInitial(DispatchChain::new);
+	private final AtomicLong subscriberSequence = new AtomicLong();
+	private final ConcurrentMap<Class<? extends BusEvent>, RetainedEvent> stickyEvents = new ConcurrentHashMap<>();
+	private final AtomicLong retentionSequence = new AtomicLong();
+	private final ThreadLocal<SubscriberGroup> capturingGroup = new ThreadLocal<>();
+
+	// ASYNC DISPATCHING
+	private final UI ui;
+	private final Executor asyncExecutor;
+	private final Queue<AsyncDispatch> pendingAsyncDispatches = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean asyncDispatchScheduled = new AtomicBoolean();
+	private final int maxConcurrentAsyncDispatches;
+	private final Queue<AsyncInvocation> pendingAsyncInvocations = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger asyncInvocationsInFlight = new AtomicInteger();
+	private final ThreadLocal<AsyncInvocation> asyncInvocation = new ThreadLocal<>();
+	private volatile boolean closed;
+
+	// QUEUED DISPATCHING
+	private final DispatchQueue dispatchQueue;
+
+	// BROADCASTING
+	private final BroadcastBus broadcastBus;
+
+	// INSTRUMENTATION
+	private final EventBusMetrics metrics;
+	private final long slowSubscriberThresholdNanos;
+	private final boolean isTimed;
+
+	// LOOP DETECTION
+	private final int maxDispatchDepth;
+
 	EventBus() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a bus without a {@link UI}, whose asynchronous dispatches are
+	 * executed directly by the given {@link Executor}.
+	 */
+	EventBus(Executor asyncExecutor) {
+		this(asyncExecutor, DEFAULT_MAX_CONCURRENT_ASYNC_DISPATCHES, null);
 	}
 
-	synchronized void subscribe(Class<? extends BusEvent> eventType, EventBusSubscriber subscriber,
-			Method m, boolean methodRequiresEvent, Map<String, String> properties, boolean isSelfObservant) {
-		if (!this.subscribers.containsKey(eventType)) {
-			this.subscribers.put(eventType, new IdentityHashMap<>());
+	/**
+	 * Creates a bus without a {@link UI}, whose asynchronous dispatches are
+	 * executed directly by the given {@link Executor}, at most the given amount at
+	 * the same time.
+	 */
+	EventBus(Executor asyncExecutor, int maxConcurrentAsyncDispatches) {
+		this(asyncExecutor, maxConcurrentAsyncDispatches, null);
+	}
+
+	/**
+	 * Creates a bus without a {@link UI}, whose asynchronous dispatches are
+	 * executed directly by the given {@link Executor} and whose dispatches are
+	 * reported to the given {@link EventBusMetrics}.
+	 */
+	EventBus(Executor asyncExecutor, EventBusMetrics metrics) {
+		this(asyncExecutor, DEFAULT_MAX_CONCURRENT_ASYNC_DISPATCHES, metrics);
+	}
+
+	private EventBus(Executor asyncExecutor, int maxConcurrentAsyncDispatches, EventBusMetrics metrics) {
+		this.ui = null;
+		this.asyncExecutor = asyncExecutor;
+		this.maxConcurrentAsyncDispatches = maxConcurrentAsyncDispatches;
+		this.dispatchQueue = new DispatchQueue(this, null, this.asyncExecutor,
+				DispatchQueue.DEFAULT_CAPACITY,
+				QueueOverflowPolicy.DROP_OLDEST, null);
+		this.broadcastBus = null;
+		this.metrics = metrics;
+		this.slowSubscriberThresholdNanos = 0;
+		this.isTimed = metrics != null;
+		this.maxDispatchDepth = DEFAULT_MAX_DISPATCH_DEPTH;
+	}
+
+	/**
+	 * Creates a bus whose asynchronous dispatches are handed over to the given
+	 * {@link UI} by the configured {@link Executor}.
+	 */
+	EventBus(UI ui, CottonServlet.TemporalCottonServletConfiguration config) {
+		this.ui = ui;
+		this.asyncExecutor = config.getAsyncDispatchExecutor();
+		this.maxConcurrentAsyncDispatches = config.getAsyncDispatchLimit();
+		this.dispatchQueue = new DispatchQueue(this, ui, this.asyncExecutor, config.getDispatchQueueCapacity(),
+				config.getDispatchQueueOverflowPolicy(), config.getDispatchQueueCoalescingKey());
+		this.broadcastBus = config.getBroadcastBus();
+		this.metrics = config.getEventBusMetrics();
+		this.slowSubscriberThresholdNanos = config.getSlowSubscriberThresholdNanos();
+		this.isTimed = this.metrics != null || this.slowSubscriberThresholdNanos > 0;
+		this.maxDispatchDepth = config.getMaxDispatchDepth();
+	}
+
+	/**
+	 * Subscribes all of the given {@link Subscribable}s of the given subscriber at
+	 * once.
+	 * <p>
+	 * If the given {@link Subscribable}s contain the same {@link Method} for the
+	 * same event type more than once, the last one is used.
+	 */
+	Subscriber subscribe(EventBusSubscriber subscriber, List<Subscribable> subscribables) {
+		if (subscribables.isEmpty()) {
+			return null;
+		}
+
+		Subscriber subscriberRecord = new Subscriber(subscriber, this.subscriberSequence.getAndIncrement(),
+				subscribables);
+		SubscriberGroup group = this.capturingGroup.get();
+		if (group != null) {
+			group.add(this, subscriberRecord);
 		}
-		if (!this.subscribers.get(eventType).containsKey(subscriber)) {
-			this.subscribers.get(eventType).put(subscriber, new Subscriber(subscriber));
+		Map<Class<? extends BusEvent>, List<Subscription>> added = new HashMap<>();
+		for (Subscribable subscribable : subscribables) {
+			List<Subscription> typeSubscriptions = added.computeIfAbsent(subscribable.eventType,
+					eventType -> new ArrayList<>());
+			typeSubscriptions.removeIf(subscription -> subscription.subscribable.method.equals(subscribable.method));
+			typeSubscriptions.add(new Subscription(subscriberRecord, subscribable));
 		}
-		this.subscribers.get(eventType).get(subscriber).methods.put(m, new Subscribable(methodRequiresEvent, isSelfObservant, properties));
+
+		Registry current, updated;
+		do {
+			current = this.registry.get();
+			Map<Class<? extends BusEvent>, Subscription[]> subscriptions = new HashMap<>(current.subscriptions);
+			for (Entry<Class<? extends BusEvent>, List<Subscription>> entry : added.entrySet()) {
+				Subscription[] existing = subscriptions.getOrDefault(entry.getKey(), NO_SUBSCRIPTIONS);
+				Subscription[] merged = new Subscription[existing.length + entry.getValue().size()];
+				System.arraycopy(existing, 0, merged, 0, existing.length);
+				for (int i = 0; i < entry.getValue().size(); i++) {
+					merged[existing.length + i] = entry.getValue().get(i);
+				}
+				subscriptions.put(entry.getKey(), merged);
+			}
+			updated = new Registry(subscriptions);
+		} while (!this.registry.compareAndSet(current, updated));
+		return subscriberRecord;
 	}
 
-	synchronized void unsubscribe(EventBusSubscriber subscriber) {
-		Iterator<Entry<Class<? extends BusEvent>, IdentityHashMap<EventBusSubscriber, Subscriber>>> iter = subscribers.entrySet()
-				.iterator();
+	void unsubscribe(EventBusSubscriber subscriber) {
+		Registry current, updated;
+		List<Subscriber> removed;
+		do {
+			current = this.registry.get();
+			removed = new ArrayList<>();
+			Map<Class<? extends BusEvent>, Subscription[]> subscriptions = new HashMap<>();
+			for (Entry<Class<? extends BusEvent>, Subscription[]> entry : current.subscriptions.entrySet()) {
+				List<Subscription> remaining = new ArrayList<>(entry.getValue().length);
+				for (Subscription subscription : entry.getValue()) {
+					if (subscription.subscriber.subscriber == subscriber) {
+						removed.add(subscription.subscriber);
+					} else {
+						remaining.add(subscription);
+					}
+				}
+				if (!remaining.isEmpty()) {
+					subscriptions.put(entry.getKey(), remaining.size() == entry.getValue().length ? entry.getValue()
+							: remaining.toArray(new Subscription[remaining.size()]));
+				}
+			}
 
-		while (iter.hasNext()) {
-			Entry<Class<? extends BusEvent>, IdentityHashMap<EventBusSubscriber, Subscriber>> entry = iter.next();
+			if (removed.isEmpty()) {
+				return;
+			}
+			updated = new Registry(subscriptions);
+		} while (!this.registry.compareAndSet(current, updated));
 
-			entry.getValue().remove(subscriber);
+		for (Subscriber subscriberRecord : removed) {
+			subscriberRecord.active = false;
+		}
+	}
 
-			if (entry.getValue().isEmpty()) {
-				iter.remove();
+	/**
+	 * Executes the given action, collecting all subscribers that subscribe on the
+	 * current thread during its execution into the given group.
+	 */
+	<T> T capture(SubscriberGroup group, Supplier<T> action) {
+		SubscriberGroup outer = this.capturingGroup.get();
+		this.capturingGroup.set(group);
+		try {
+			return action.get();
+		} finally {
+			if (outer == null) {
+				this.capturingGroup.remove();
+			} else {
+				this.capturingGroup.set(outer);
 			}
 		}
 	}
 
-	synchronized boolean dispatch(BusEvent event, EventBusSubscriber dispatcher) {
+	boolean dispatch(BusEvent event, EventBusSubscriber dispatcher) {
+		return dispatch(event, dispatcher, false, null, false);
+	}
+
+	/**
+	 * Dispatches the given event only to the {@link Subscriber}s in the
+	 * @{@link Scoped} scope of the dispatcher.
+	 * <p>
+	 * Just like an unscoped dispatch returns whether there are subscriptions to the
+	 * event's type at all, a scoped dispatch returns whether there are
+	 * subscriptions to the event's type in the scope; in both cases regardless of
+	 * whether their property filters matched.
+	 */
+	boolean dispatchScoped(BusEvent event, EventBusSubscriber dispatcher, boolean includeNestedScopes) {
+		Component[] dispatcherScopes = resolveScopes(dispatcher.getScopeAnchor()).scopes;
+		Component scope = dispatcherScopes.length == 0 ? null : dispatcherScopes[0];
+		if (scope == null && includeNestedScopes) {
+			// THE GLOBAL SCOPE INCLUDING ALL NESTED SCOPES IS EVERYONE
+			return dispatch(event, dispatcher);
+		}
+		return dispatch(event, dispatcher, true, scope, includeNestedScopes);
+	}
+
+	private boolean dispatch(BusEvent event, EventBusSubscriber dispatcher, boolean isScoped, Component scope,
+			boolean includeNestedScopes) {
 		if (event == null) {
 			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR, "Unable to throw a null event.");
 		}
 
-		boolean subscriberFound = false;
-
-		Class<?> eventType = event.getClass();
-		while (eventType != BusEvent.class) {
-			if (this.subscribers.containsKey(eventType)) {
-				subscriberFound = true;
-				for (Subscriber subscriber : this.subscribers.get(eventType).values()) {
-					boolean isDispatcher = subscriber.subscriber == dispatcher;
-
-					for (Method m : subscriber.methods.keySet()) {
-						Subscribable subscribable = subscriber.methods.get(m);
-						if (!isDispatcher || subscribable.isSelfObservant) {
-							if (!event.equalProperties(subscribable.properties)) {
-								continue;
-							}
-
-							try {
-								if (subscribable.methodRequiresEvent) {
-									m.invoke(subscriber.subscriber, event);
-								} else if (m.getParameterCount() == 1) {
-									m.invoke(subscriber.subscriber, new Object[] {null});
-								} else {
-									m.invoke(subscriber.subscriber);
-								}
-							} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-								throw new WebException(HttpErrorCodes.HTTP500_INTERNAL_SERVER_ERROR,
-										"Unable to dispatch event of type " + event.getClass().getSimpleName()
-												+ " to a subscriber of the type "
-												+ subscriber.subscriber.getClass().getSimpleName(),
-										e);
-							}
+		SubscriberGroup capturing = this.capturingGroup.get();
+		if (capturing != null && capturing.suspended) {
+			// THE DISPATCHES OF A SUSPENDED VIEW BEING BUILT WAIT UNTIL THE VIEW IS DISPLAYED
+			capturing.deferred.add(() -> dispatch(event, dispatcher, isScoped, scope, includeNestedScopes));
+			return this.registry.get().getDispatchTable(event.getClass()).subscriptions.length > 0;
+		} else if (this.ui != null && this.asyncInvocation.get() != null) {
+			// ASYNCHRONOUS SUBSCRIBERS RUN WITHOUT THE SESSION LOCK THE OTHER SUBSCRIBERS REQUIRE
+			access(() -> dispatch(event, dispatcher, isScoped, scope, includeNestedScopes));
+			return this.registry.get().getDispatchTable(event.getClass()).subscriptions.length > 0;
+		}
+
+		DispatchChain chain = this.dispatchChains.get();
+		if (chain.depth >= this.maxDispatchDepth) {
+			throw new WebException(HttpErrorCodes.HTTP508_LOOP_DETECTED,
+					"Unable to dispatch event of type " + event.getClass().getSimpleName()
+							+ "; the maximum dispatch depth of " + this.maxDispatchDepth
+							+ " has been reached, which indicates a dispatch cascade. The dispatch chain was:"
+							+ chain.describe(event.getClass()));
+		}
+
+		RetainedEvent pending = null;
+		if (STICKY_TYPES.get(event.getClass())) {
+			synchronized (this.stickyEvents) {
+				RetainedEvent retained = this.stickyEvents.get(event.getClass());
+				if (retained != null && retained.event == event && retained.replayedTo != null) {
+					pending = retained;
+				} else {
+					this.stickyEvents.put(event.getClass(), new RetainedEvent(event, sequenceOf(dispatcher),
+							this.retentionSequence.incrementAndGet(), false));
+				}
+			}
+		}
+
+		chain.push(event.getClass());
+		try {
+			DispatchTable table = this.registry.get().getDispatchTable(event.getClass());
+			int[] candidates = table.getCandidates(event);
+			int[] scopeCandidates = null;
+			int filtered;
+			if (isScoped) {
+				scopeCandidates = table.getScopeCandidates(scope, includeNestedScopes);
+				candidates = DispatchTable.intersection(candidates, scopeCandidates);
+				filtered = scopeCandidates.length - candidates.length;
+			} else {
+				filtered = table.subscriptions.length - candidates.length;
+			}
+			int reached = 0;
+			Vetoable vetoable = event instanceof Vetoable ? (Vetoable) event : null;
+			for (int candidate : candidates) {
+				Subscription subscription = table.subscriptions[candidate];
+				Subscribable subscribable = subscription.subscribable;
+				if (!subscription.subscriber.active || subscription.subscriber.suspended) {
+					continue;
+				} else if (pending != null && pending.replayedTo.contains(subscription.subscriber)) {
+					continue;
+				} else if (subscription.subscriber.subscriber == dispatcher && !subscribable.isSelfObservant) {
+					continue;
+				} else if (isScoped && !isInScope(subscription.subscriber, scope, includeNestedScopes)) {
+					continue;
+				} else if (subscribable.requiresPropertyCheck
+						&& !event.equalProperties(subscribable.propertyKeys, subscribable.propertyValues)) {
+					filtered++;
+					continue;
+				}
+
+				chain.deliverTo(subscription);
+				if (subscribable.isAsync) {
+					// ASYNCHRONOUS SUBSCRIBERS CANNOT DECLINE VETOABLE EVENTS
+					invokeAsync(subscription.subscriber, subscribable, event);
+					reached++;
+					continue;
+				}
+				long start = this.isTimed ? System.nanoTime() : 0;
+				try {
+					subscribable.invoker.invokeExact(subscription.subscriber.subscriber, event);
+				} catch (WebException e) {
+					if (e.getErrorCode() == HttpErrorCodes.HTTP508_LOOP_DETECTED) {
+						throw e;
+					}
+					throw wrapDispatchError(event, subscription, e);
+				} catch (Throwable t) {
+					throw wrapDispatchError(event, subscription, t);
+				}
+				reached++;
+				if (this.isTimed) {
+					measure(event, subscription.subscriber, subscribable, System.nanoTime() - start);
+				}
+				if (vetoable != null && !vetoable.doAccept()) {
+					break;
+				}
+			}
+
+			if (this.metrics != null) {
+				this.metrics.dispatched(event.getClass(), reached, filtered);
+			}
+			if (isScoped) {
+				return reached > 0 || isAnyInScope(table, scopeCandidates, scope, includeNestedScopes);
+			}
+			return table.subscriptions.length > 0;
+		} finally {
+			if (pending != null) {
+				synchronized (this.stickyEvents) {
+					pending.replayedTo = null;
+				}
+			}
+			chain.pop();
+			if (chain.depth == 0) {
+				// THREADS ARE POOLED BY THE CONTAINER, SO THE CHAIN MUST NOT OUTLIVE THE CASCADE
+				this.dispatchChains.remove();
+				if (chain.nestedDispatches > 0 && this.metrics != null) {
+					this.metrics.cascaded(event.getClass(), chain.nestedDispatches);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retains the given event of a @{@link Sticky} type without dispatching it, so
+	 * {@link EventBusSubscriber}s initialized until the same instance is dispatched
+	 * already receive it instead of the instance retained before; the dispatch then
+	 * skips them.
+	 */
+	void retain(BusEvent event) {
+		if (STICKY_TYPES.get(event.getClass())) {
+			synchronized (this.stickyEvents) {
+				this.stickyEvents.put(event.getClass(),
+						new RetainedEvent(event, -1, this.retentionSequence.incrementAndGet(), true));
+			}
+		}
+	}
+
+	/**
+	 * Discards the retained instance of the given @{@link Sticky} event type.
+	 */
+	void clearStickyEvent(Class<? extends BusEvent> eventType) {
+		synchronized (this.stickyEvents) {
+			this.stickyEvents.remove(eventType);
+		}
+	}
+
+	/**
+	 * Delivers the retained events of all @{@link Sticky} event types to the
+	 * {@link Subscribable}s of the given {@link Subscriber} that are
+	 * {@link Subscribable#isSticky} and whose event type and properties match.
+	 * <p>
+	 * A suspended {@link Subscriber} receives the events once it is resumed; events
+	 * it dispatched itself are only delivered to {@link Subscribable}s that are
+	 * {@link Subscribable#isSelfObservant}.
+	 */
+	void replayStickyEvents(Subscriber subscriberRecord) {
+		if (subscriberRecord == null) {
+			return;
+		}
+		subscriberRecord.replayable = true;
+		replay(subscriberRecord);
+	}
+
+	private void suspend(Subscriber subscriberRecord) {
+		synchronized (this.stickyEvents) {
+			subscriberRecord.suspended = true;
+			if (subscriberRecord.replayedRetention >= 0) {
+				// THE SUBSCRIBER RECEIVED EVERYTHING RETAINED UNTIL NOW, EITHER REPLAYED OR DISPATCHED
+				subscriberRecord.replayedRetention = this.retentionSequence.get();
+			}
+		}
+	}
+
+	private void resume(Subscriber subscriberRecord) {
+		subscriberRecord.suspended = false;
+		if (subscriberRecord.replayable) {
+			replay(subscriberRecord);
+		}
+	}
+
+	private void replay(Subscriber subscriberRecord) {
+		List<RetainedEvent> replayed = new ArrayList<>();
+		synchronized (this.stickyEvents) {
+			if (!subscriberRecord.active || subscriberRecord.suspended) {
+				return;
+			}
+			for (RetainedEvent retained : this.stickyEvents.values()) {
+				if (retained.retention > subscriberRecord.replayedRetention) {
+					replayed.add(retained);
+					if (retained.replayedTo != null) {
+						retained.replayedTo.add(subscriberRecord);
+					}
+				}
+			}
+			subscriberRecord.replayedRetention = this.retentionSequence.get();
+		}
+
+		for (Subscribable subscribable : subscriberRecord.subscribables) {
+			if (subscribable.isSticky) {
+				for (RetainedEvent retained : replayed) {
+					BusEvent event = retained.event;
+					if (subscribable.eventType.isInstance(event)
+							&& (retained.dispatcherSequence != subscriberRecord.sequence
+									|| subscribable.isSelfObservant)
+							&& event.equalProperties(subscribable.propertyKeys, subscribable.propertyValues)) {
+						if (subscribable.isAsync) {
+							invokeAsync(subscriberRecord, subscribable, event);
+							continue;
+						}
+						try {
+							subscribable.invoker.invokeExact(subscriberRecord.subscriber, event);
+						} catch (Throwable t) {
+							throw new WebException(HttpErrorCodes.HTTP500_INTERNAL_SERVER_ERROR,
+									"Unable to deliver the retained event of type " + event.getClass().getSimpleName()
+											+ " to a subscriber of the type "
+											+ subscriberRecord.subscriber.getClass().getSimpleName(),
+									t);
 						}
 					}
 				}
 			}
-			eventType = eventType.getSuperclass();
+		}
+	}
+
+	private static long sequenceOf(EventBusSubscriber dispatcher) {
+		Subscriber subscriberRecord = dispatcher == null ? null : dispatcher.getSubscriberRecord();
+		return subscriberRecord == null ? -1 : subscriberRecord.sequence;
+	}
+
+	private static boolean isInScope(Subscriber subscriber, Component scope, boolean includeNestedScopes) {
+		return resolveScopes(subscriber).isIn(scope, includeNestedScopes);
+	}
+
+	private static boolean isAnyInScope(DispatchTable table, int[] scopeCandidates, Component scope,
+			boolean includeNestedScopes) {
+		for (int candidate : scopeCandidates) {
+			if (isInScope(table.subscriptions[candidate].subscriber, scope, includeNestedScopes)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the scopes of the given {@link Subscriber}, which are cached on it
+	 * as long as they are valid for its current anchor.
+	 */
+	private static ScopeResolution resolveScopes(Subscriber subscriber) {
+		Component anchor = subscriber.subscriber.getScopeAnchor();
+		ScopeResolution resolution = subscriber.scopes;
+		if (resolution == null || !resolution.isValidFor(anchor)) {
+			resolution = resolveScopes(anchor);
+			subscriber.scopes = resolution;
+		}
+		return resolution;
+	}
+
+	/**
+	 * Returns all @{@link Scoped} {@link Component}s in the hierarchy of the given
+	 * anchor, from the nearest to the farthest.
+	 */
+	private static ScopeResolution resolveScopes(Component anchor) {
+		List<Component> scopes = null;
+		Component top = null;
+		for (Component component = anchor; component != null; component = component.getParent()) {
+			if (component.getClass().isAnnotationPresent(Scoped.class)) {
+				if (scopes == null) {
+					scopes = new ArrayList<>();
+				}
+				scopes.add(component);
+			}
+			top = component;
+		}
+
+		return new ScopeResolution(anchor, top,
+				scopes == null ? NO_SCOPES : scopes.toArray(new Component[scopes.size()]));
+	}
+
+	private static WebException wrapDispatchError(BusEvent event, Subscription subscription, Throwable t) {
+		return new WebException(HttpErrorCodes.HTTP500_INTERNAL_SERVER_ERROR,
+				"Unable to dispatch event of type " + event.getClass().getSimpleName()
+						+ " to a subscriber of the type "
+						+ subscription.subscriber.subscriber.getClass().getSimpleName(),
+				t);
+	}
+
+	private void measure(BusEvent event, Subscriber subscriber, Subscribable subscribable, long nanos) {
+		Class<? extends EventBusSubscriber> subscriberType = subscriber.subscriber.getClass();
+		if (this.metrics != null) {
+			this.metrics.delivered(event.getClass(), subscriberType, subscribable.method, nanos);
+		}
+		if (this.slowSubscriberThresholdNanos > 0 && nanos > this.slowSubscriberThresholdNanos) {
+			LOGGER.warn("The subscriber {}.{}() took {}ms to handle an event of type {}", subscriberType.getName(),
+					subscribable.method.getName(), TimeUnit.NANOSECONDS.toMillis(nanos),
+					event.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Defers dispatching the given event; the bus' {@link Executor} hands it over
+	 * to the bus' {@link UI} using {@link UI#access(Runnable)}, where it is
+	 * delivered while holding the {@link UI}'s session lock.
+	 * <p>
+	 * Since every dispatch of a {@link UI} requires its session lock, deferred
+	 * dispatches are serialized: they are delivered one after another in the
+	 * order they were requested in. Only their {@link Subscribable#isAsync}
+	 * {@link Subscribable}s are executed without the lock, just as on a direct
+	 * dispatch.
+	 */
+	CompletableFuture<Boolean> dispatchAsync(BusEvent event, EventBusSubscriber dispatcher) {
+		if (event == null) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR, "Unable to throw a null event.");
 		}
 
-		return subscriberFound;
+		AsyncDispatch asyncDispatch = new AsyncDispatch(event, dispatcher);
+		this.pendingAsyncDispatches.add(asyncDispatch);
+		if (this.closed) {
+			failAsyncDispatches();
+		} else {
+			scheduleAsyncDispatches();
+		}
+		return asyncDispatch.future;
+	}
+
+	/**
+	 * Executes the given mutation while holding the session lock of the bus'
+	 * {@link UI} using {@link UI#access(Runnable)}; without a {@link UI}, it is
+	 * executed directly.
+	 * <p>
+	 * Mutations of a closed bus are discarded.
+	 */
+	void access(Runnable mutation) {
+		if (this.closed) {
+			return;
+		} else if (this.ui == null) {
+			mutation.run();
+		} else {
+			try {
+				this.ui.access(mutation);
+			} catch (UIDetachedException e) {
+				close();
+			}
+		}
+	}
+
+	/**
+	 * Closes the bus when its {@link UI} is detached; all pending deferred
+	 * dispatches fail and further ones are rejected, asynchronous deliveries that
+	 * have not started yet and queued dispatches are discarded and retained
+	 * @{@link Sticky} events are cleared.
+	 */
+	void close() {
+		this.closed = true;
+		failAsyncDispatches();
+		this.pendingAsyncInvocations.clear();
+		this.dispatchQueue.close();
+		synchronized (this.stickyEvents) {
+			this.stickyEvents.clear();
+		}
+	}
+
+	/**
+	 * Adds the given event to the bus' bounded {@link DispatchQueue}, whose events
+	 * are delivered in batches on the bus' {@link Executor} while holding the
+	 * session lock of the bus' {@link UI}.
+	 */
+	void dispatchQueued(BusEvent event, EventBusSubscriber dispatcher) {
+		this.dispatchQueue.enqueue(event, dispatcher);
+	}
+
+	/**
+	 * Publishes the given event on the {@link BroadcastBus} the bus' {@link UI} is
+	 * connected to.
+	 */
+	void broadcast(BusEvent event) {
+		if (this.broadcastBus == null) {
+			throw new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR,
+					"Unable to broadcast an event of the type " + (event == null ? null : event.getClass().getSimpleName())
+							+ "; there is no broadcast bus configured.");
+		}
+		this.broadcastBus.publish(event);
+	}
+
+	private void scheduleAsyncDispatches() {
+		if (!this.pendingAsyncDispatches.isEmpty() && this.asyncDispatchScheduled.compareAndSet(false, true)) {
+			try {
+				this.asyncExecutor.execute(this::handOverAsyncDispatches);
+			} catch (RejectedExecutionException e) {
+				this.asyncDispatchScheduled.set(false);
+				AsyncDispatch pending;
+				while ((pending = this.pendingAsyncDispatches.poll()) != null) {
+					pending.future.completeExceptionally(new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR,
+							"The executor for asynchronous event dispatching rejected to dispatch an event of type "
+									+ pending.event.getClass().getSimpleName(),
+							e));
+				}
+			}
+		}
+	}
+
+	private void handOverAsyncDispatches() {
+		if (this.ui == null) {
+			runAsyncDispatches();
+		} else {
+			try {
+				// NEVER BLOCKS; IF THE LOCK IS HELD, ITS HOLDER RUNS THE DISPATCHES ON UNLOCKING
+				this.ui.access(this::runAsyncDispatches);
+			} catch (UIDetachedException e) {
+				this.asyncDispatchScheduled.set(false);
+				close();
+			}
+		}
+	}
+
+	private void runAsyncDispatches() {
+		try {
+			AsyncDispatch pending;
+			while (!this.closed && (pending = this.pendingAsyncDispatches.poll()) != null) {
+				pending.run();
+			}
+		} finally {
+			this.asyncDispatchScheduled.set(false);
+			if (this.closed) {
+				failAsyncDispatches();
+			} else {
+				scheduleAsyncDispatches();
+			}
+		}
+	}
+
+	/**
+	 * Queues the delivery of the given event to the given {@link Subscribable#isAsync}
+	 * {@link Subscribable}; at most the configured amount of deliveries per bus are
+	 * executed at the same time, further ones wait until a running one finishes.
+	 */
+	private void invokeAsync(Subscriber subscriber, Subscribable subscribable, BusEvent event) {
+		this.pendingAsyncInvocations.add(new AsyncInvocation(subscriber, subscribable, event));
+		startAsyncInvocations();
+	}
+
+	private void startAsyncInvocations() {
+		while (!this.closed && !this.pendingAsyncInvocations.isEmpty()) {
+			int inFlight = this.asyncInvocationsInFlight.get();
+			if (inFlight >= this.maxConcurrentAsyncDispatches) {
+				// THE NEXT FINISHING DELIVERY STARTS THE PENDING ONES
+				return;
+			} else if (!this.asyncInvocationsInFlight.compareAndSet(inFlight, inFlight + 1)) {
+				continue;
+			}
+
+			AsyncInvocation invocation = this.pendingAsyncInvocations.poll();
+			if (invocation == null) {
+				this.asyncInvocationsInFlight.decrementAndGet();
+				continue;
+			}
+			try {
+				this.asyncExecutor.execute(invocation);
+			} catch (RejectedExecutionException e) {
+				this.asyncInvocationsInFlight.decrementAndGet();
+				LOGGER.error("The executor for asynchronous event dispatching rejected to deliver an event of type {}"
+						+ " to the subscriber {}.{}()", invocation.event.getClass().getSimpleName(),
+						invocation.subscriber.subscriber.getClass().getName(), invocation.subscribable.method.getName(),
+						e);
+			}
+		}
+		if (this.closed) {
+			this.pendingAsyncInvocations.clear();
+		}
+	}
+
+	private void failAsyncDispatches() {
+		AsyncDispatch pending;
+		while ((pending = this.pendingAsyncDispatches.poll()) != null) {
+			pending.future.completeExceptionally(new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR,
+					"Unable to dispatch an event of type " + pending.event.getClass().getSimpleName()
+							+ " asynchronously; the UI of the event bus has been detached."));
+		}
 	}
 }
\ No newline at end of file
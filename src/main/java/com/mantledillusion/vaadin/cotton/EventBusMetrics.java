@@ -0,0 +1,70 @@
+package com.mantledillusion.vaadin.cotton;
+
+import java.lang.reflect.Method;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+/**
+ * Receiver of measurements of the event buses of all {@link CottonUI}s of a
+ * {@link CottonServlet}, registered using
+ * {@link CottonServlet.TemporalCottonServletConfiguration#setEventBusMetrics(EventBusMetrics)}.
+ * <P>
+ * Implementations are called on the dispatching threads of all {@link CottonUI}s
+ * concurrently and directly within the dispatches, so they have to be thread
+ * safe and fast.
+ * 
+ * @see RecordingEventBusMetrics
+ */
+public interface EventBusMetrics {
+
+	/**
+	 * Is called after an event has been dispatched.
+	 * 
+	 * @param eventType
+	 *            The type of the dispatched event; never null.
+	 * @param reached
+	 *            The count of @{@link Subscribe} {@link Method}s that received the
+	 *            event.
+	 * @param filtered
+	 *            The count of @{@link Subscribe} {@link Method}s of the event's
+	 *            type that did not receive the event since it did not match their
+	 *            {@link Subscribe.EventProperty}s.
+	 */
+	void dispatched(Class<? extends BusEvent> eventType, int reached, int filtered);
+
+	/**
+	 * Is called after an event has been delivered to a single @{@link Subscribe}
+	 * {@link Method}.
+	 * 
+	 * @param eventType
+	 *            The type of the delivered event; never null.
+	 * @param subscriberType
+	 *            The type of the {@link EventBusSubscriber} that received the
+	 *            event; never null.
+	 * @param method
+	 *            The @{@link Subscribe} {@link Method} that received the event;
+	 *            never null.
+	 * @param nanos
+	 *            The time the {@link Method} took to handle the event in
+	 *            nanoseconds.
+	 */
+	void delivered(Class<? extends BusEvent> eventType, Class<? extends EventBusSubscriber> subscriberType,
+			Method method, long nanos);
+
+	/**
+	 * Is called after an event has been dispatched whose @{@link Subscribe}
+	 * {@link Method}s dispatched further events themselves, after all of these
+	 * nested dispatches have finished.
+	 * <P>
+	 * Does nothing by default.
+	 * 
+	 * @param eventType
+	 *            The type of the event that caused the cascade; never null.
+	 * @param nestedDispatches
+	 *            The count of all dispatches nested into the dispatch of the event,
+	 *            directly or indirectly; always &gt;0.
+	 */
+	default void cascaded(Class<? extends BusEvent> eventType, int nestedDispatches) {
+	}
+}
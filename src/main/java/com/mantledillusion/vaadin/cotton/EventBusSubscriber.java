@@ -1,9 +1,19 @@
 package com.mantledillusion.vaadin.cotton;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.lang3.reflect.MethodUtils;
 
@@ -15,7 +25,11 @@ import com.mantledillusion.injection.hura.annotation.Process;
 import com.mantledillusion.vaadin.cotton.exception.WebException;
 import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
 import com.mantledillusion.vaadin.cotton.viewpresenter.Presenter;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Scoped;
 import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+import com.mantledillusion.vaadin.cotton.viewpresenter.View;
+import com.vaadin.ui.Component;
+import com.vaadin.ui.UI;
 
 /**
  * Basic super type for a subscriber on the global event bus.
@@ -42,7 +56,87 @@ public class EventBusSubscriber {
 	 */
 	public static abstract class BusEvent {
 
-		private Map<String, String> properties;
+		/**
+		 * Immutable set of properties for {@link BusEvent}s, built once using a
+		 * {@link Builder} and given to the {@link BusEvent#BusEvent(Properties)}
+		 * {@link Constructor}.
+		 * <p>
+		 * Since instances are immutable, a single instance may be shared by any amount
+		 * of events.
+		 */
+		public static final class Properties {
+
+			/**
+			 * Builder for {@link Properties}.
+			 */
+			public static final class Builder {
+
+				private String[] keys = new String[INITIAL_CAPACITY];
+				private String[] values = new String[INITIAL_CAPACITY];
+				private int size;
+
+				private Builder() {
+				}
+
+				/**
+				 * Adds a property.
+				 * 
+				 * @param key
+				 *            The key of the property; <b>not</b> allowed to be null.
+				 * @param value
+				 *            The value of the property; may be null.
+				 * @return this
+				 */
+				public Builder with(String key, String value) {
+					this.size = put(this.keys, this.values, this.size, key, value);
+					if (this.size == this.keys.length) {
+						this.keys = Arrays.copyOf(this.keys, this.size * 2);
+						this.values = Arrays.copyOf(this.values, this.size * 2);
+					}
+					return this;
+				}
+
+				/**
+				 * Builds the added properties into an immutable {@link Properties}
+				 * instance.
+				 * 
+				 * @return A new {@link Properties} instance; never null
+				 */
+				public Properties build() {
+					return new Properties(Arrays.copyOf(this.keys, this.size),
+							Arrays.copyOf(this.values, this.size));
+				}
+			}
+
+			private final String[] keys;
+			private final String[] values;
+
+			private Properties(String[] keys, String[] values) {
+				this.keys = keys;
+				this.values = values;
+			}
+
+			/**
+			 * Begins building a new {@link Properties} instance.
+			 * 
+			 * @return A new {@link Builder}; never null
+			 */
+			public static Builder builder() {
+				return new Builder();
+			}
+		}
+
+		private static final int INITIAL_CAPACITY = 4;
+		private static final String[] NO_PROPERTIES = new String[0];
+
+		/*
+		 * Properties are held in 2 parallel arrays; events typically carry 1-4
+		 * properties, where a linear scan over the keys is cheaper than hashing.
+		 */
+		private String[] keys = NO_PROPERTIES;
+		private String[] values = NO_PROPERTIES;
+		private int propertyCount;
+		private boolean frozen;
 
 		/**
 		 * Default {@link Constructor}.
@@ -63,6 +157,25 @@ public class EventBusSubscriber {
 			addProperty(key, value);
 		}
 
+		/**
+		 * {@link Constructor} for events whose properties are frozen upon
+		 * construction; calling {@link #addProperty(String, String)} on such an event
+		 * is not allowed.
+		 * 
+		 * @param properties
+		 *            The properties of the event; <b>not</b> allowed to be null.
+		 */
+		protected BusEvent(Properties properties) {
+			if (properties == null) {
+				throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+						"The properties of an event can never be null!");
+			}
+			this.keys = properties.keys;
+			this.values = properties.values;
+			this.propertyCount = properties.keys.length;
+			this.frozen = true;
+		}
+
 		/**
 		 * Adds a property to the event. Subscribing {@link EventBusSubscriber}
 		 * {@link Method}s may filter events for these properties using
@@ -74,14 +187,83 @@ public class EventBusSubscriber {
 		 *            The value of the property; may be null.
 		 */
 		protected final void addProperty(String key, String value) {
+			if (this.frozen) {
+				throw new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR,
+						"The properties of an event constructed with frozen properties cannot be changed!");
+			}
+			if (this.propertyCount == this.keys.length) {
+				int capacity = Math.max(INITIAL_CAPACITY, this.propertyCount * 2);
+				this.keys = Arrays.copyOf(this.keys, capacity);
+				this.values = Arrays.copyOf(this.values, capacity);
+			}
+			this.propertyCount = put(this.keys, this.values, this.propertyCount, key, value);
+		}
+
+		private static int put(String[] keys, String[] values, int size, String key, String value) {
 			if (key == null) {
 				throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
 						"The key of a property can never be null!");
 			}
-			if (this.properties == null) {
-				this.properties = new HashMap<>();
+			int index = indexOf(keys, size, key);
+			if (index >= 0) {
+				values[index] = value;
+				return size;
+			}
+			keys[size] = key;
+			values[size] = value;
+			return size + 1;
+		}
+
+		private static int indexOf(String[] keys, int size, String key) {
+			for (int i = 0; i < size; i++) {
+				if (keys[i] == key) {
+					return i;
+				}
+			}
+			// KEYS ARE TYPICALLY CONSTANTS AND SO THE SAME INSTANCE; OTHERWISE COMPARE BY VALUE
+			for (int i = 0; i < size; i++) {
+				if (keys[i].equals(key)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/*
+		 * Replaces all properties of the event, regardless of whether they are frozen;
+		 * used to re-create an event that has been distributed by another node.
+		 */
+		final void restoreProperties(String[] keys, String[] values, int count) {
+			String[] restoredKeys = new String[count];
+			String[] restoredValues = new String[count];
+			int size = 0;
+			for (int i = 0; i < count; i++) {
+				size = put(restoredKeys, restoredValues, size, keys[i], values[i]);
 			}
-			this.properties.put(key, value);
+			this.keys = restoredKeys;
+			this.values = restoredValues;
+			this.propertyCount = size;
+		}
+
+		final boolean hasProperties() {
+			return this.propertyCount > 0;
+		}
+
+		final int getPropertyCount() {
+			return this.propertyCount;
+		}
+
+		final String getPropertyKey(int index) {
+			return this.keys[index];
+		}
+
+		final String getPropertyValue(int index) {
+			return this.values[index];
+		}
+
+		final String getProperty(String key) {
+			int index = indexOf(this.keys, this.propertyCount, key);
+			return index < 0 ? null : this.values[index];
 		}
 
 		/**
@@ -94,7 +276,7 @@ public class EventBusSubscriber {
 		 * @return True when there is a property with the given key, false otherwise
 		 */
 		public final boolean hasProperty(String key) {
-			return this.properties.containsKey(key);
+			return key != null && indexOf(this.keys, this.propertyCount, key) >= 0;
 		}
 
 		/**
@@ -115,8 +297,8 @@ public class EventBusSubscriber {
 				throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
 						"The key of a property can never be null!");
 			}
-			return this.properties.containsKey(key)
-					&& (value == null ? this.properties.get(key) == null : this.properties.get(key).equals(value));
+			int index = indexOf(this.keys, this.propertyCount, key);
+			return index >= 0 && Objects.equals(this.values[index], value);
 		}
 
 		/**
@@ -132,20 +314,84 @@ public class EventBusSubscriber {
 		 *         event, false otherwise
 		 */
 		public final boolean equalProperties(Map<String, String> properties) {
-			return properties == null || properties.isEmpty()
-					|| properties.keySet().stream().allMatch(key -> (properties.get(key) == null
-							&& this.properties.containsKey(key) && this.properties.get(key) == null)
-							|| (properties.get(key) != null && properties.get(key).equals(this.properties.get(key))));
+			if (properties != null) {
+				for (Map.Entry<String, String> property : properties.entrySet()) {
+					if (!equalProperty(property.getKey(), property.getValue())) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Returns whether this event has properties for all of the given keys and their
+		 * values equal the given ones at the same index.
+		 * <p>
+		 * The given keys are interned once upon subscribing, so keys of events that
+		 * are constants are matched by identity.
+		 */
+		final boolean equalProperties(String[] keys, String[] values) {
+			for (int i = 0; i < keys.length; i++) {
+				int index = indexOf(this.keys, this.propertyCount, keys[i]);
+				if (index < 0 || !Objects.equals(this.values[index], values[i])) {
+					return false;
+				}
+			}
+			return true;
 		}
 	}
 
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, EventBusSubscriber.class,
+			BusEvent.class);
+
+	// The @Subscribe methods of a type never change, so they are collected and bound once per type
+	private static final ClassValue<List<EventBus.Subscribable>> SUBSCRIBABLES = new ClassValue<List<EventBus.Subscribable>>() {
+
+		@Override
+		protected List<EventBus.Subscribable> computeValue(Class<?> type) {
+			return collectSubscribables(type);
+		}
+	};
+
 	@Inject(EventBus.PRESENTER_EVENT_BUS_ID)
 	@Global
 	private EventBus bus;
 
+	private EventBus.Subscriber subscriberRecord;
+	private boolean isSubscribed;
+	private boolean hasReceivedStickyEvents;
+
 	@Process
 	private void initialize() {
-		for (Method method : MethodUtils.getMethodsListWithAnnotation(getClass(), Subscribe.class, true, true)) {
+		this.subscriberRecord = this.bus.subscribe(this, SUBSCRIBABLES.get(getClass()));
+		this.isSubscribed = true;
+		receiveStickyEvents();
+	}
+
+	/**
+	 * Framework internal method <b>(DO NOT USE!)</b>
+	 * <P>
+	 * Delivers the events retained for @{@link Sticky} event types to the
+	 * {@link Subscribe#sticky()} {@link Method}s of this {@link EventBusSubscriber}
+	 * once it has been subscribed; {@link Presenter}s additionally need their
+	 * {@link View} to be set.
+	 */
+	protected final void receiveStickyEvents() {
+		if (this.isSubscribed && !this.hasReceivedStickyEvents
+				&& (!(this instanceof Presenter) || getScopeAnchor() != null)) {
+			this.hasReceivedStickyEvents = true;
+			this.bus.replayStickyEvents(this.subscriberRecord);
+		}
+	}
+
+	final EventBus.Subscriber getSubscriberRecord() {
+		return this.subscriberRecord;
+	}
+
+	private static List<EventBus.Subscribable> collectSubscribables(Class<?> type) {
+		List<EventBus.Subscribable> subscribables = new ArrayList<>();
+		for (Method method : MethodUtils.getMethodsListWithAnnotation(type, Subscribe.class, true, true)) {
 			// PRESENTER EVENT METHODS
 			if (method.isAnnotationPresent(Subscribe.class)) {
 				if (!method.isAccessible()) {
@@ -154,14 +400,22 @@ public class EventBusSubscriber {
 					} catch (SecurityException e) {
 						throw new WebException(HttpErrorCodes.HTTP904_ILLEGAL_ANNOTATION_USE,
 								"Unable to gain access to the method '" + method.getName() + "' of the type "
-										+ EventBusSubscriber.this.getClass().getSimpleName()
-										+ " which is inaccessible.",
+										+ type.getSimpleName() + " which is inaccessible.",
 								e);
 					}
 				}
 
-				Subscribe annotation = method.getAnnotation(Subscribe.class);
+				MethodHandle handle;
+				try {
+					handle = MethodHandles.lookup().unreflect(method);
+				} catch (IllegalAccessException e) {
+					throw new WebException(HttpErrorCodes.HTTP904_ILLEGAL_ANNOTATION_USE,
+							"Unable to bind the method '" + method.getName() + "' of the type "
+									+ type.getSimpleName() + " for invocation.",
+							e);
+				}
 
+				Subscribe annotation = method.getAnnotation(Subscribe.class);
 
 				Map<String, String> properties = null;
 				if (annotation.value().length > 0) {
@@ -173,6 +427,7 @@ public class EventBusSubscriber {
 						}
 						properties.put(property.key(), property.value());
 					}
+					properties = Collections.unmodifiableMap(properties);
 				}
 
 				if (method.getParameterCount() > 0) {
@@ -181,14 +436,29 @@ public class EventBusSubscriber {
 					@SuppressWarnings("unchecked")
 					Class<? extends BusEvent> parameterEventType = (Class<? extends BusEvent>) eventType;
 					
-					this.bus.subscribe(parameterEventType, this, method, true, properties, annotation.isSelfObservant());
+					subscribables.add(new EventBus.Subscribable(parameterEventType, method, toInvoker(handle, true),
+							annotation.isSelfObservant(), annotation.priority(), annotation.sticky(), annotation.async(),
+							properties));
 				}
 				
 				for (Class<? extends BusEvent> anonymousEventType: annotation.anonymousEvents()) {
-					this.bus.subscribe(anonymousEventType, this, method, false, properties, annotation.isSelfObservant());
+					subscribables.add(new EventBus.Subscribable(anonymousEventType, method, toInvoker(handle, false),
+							annotation.isSelfObservant(), annotation.priority(), annotation.sticky(), annotation.async(),
+							properties));
 				}
 			}
 		}
+		return Collections.unmodifiableList(subscribables);
+	}
+
+	private static MethodHandle toInvoker(MethodHandle handle, boolean methodRequiresEvent) {
+		if (!methodRequiresEvent) {
+			if (handle.type().parameterCount() == 2) {
+				handle = MethodHandles.insertArguments(handle, 1, (Object) null);
+			}
+			handle = MethodHandles.dropArguments(handle, 1, BusEvent.class);
+		}
+		return handle.asType(INVOKER_TYPE);
 	}
 
 	@Process(Phase.DESTROY)
@@ -203,10 +473,172 @@ public class EventBusSubscriber {
 	 * 
 	 * @param event
 	 *            The event to dispatch; <b>not</b> allowed to be null.
-	 * @return True if the {@link BusEvent} has been received by at least
-	 *         one {@link EventBusSubscriber}, false otherwise
+	 * @return True if at least one {@link EventBusSubscriber} has subscribed to
+	 *         the {@link BusEvent}'s type, regardless of whether its
+	 *         {@link Subscribe.EventProperty} filters matched; false otherwise
 	 */
 	protected final boolean dispatch(BusEvent event) {
 		return this.bus.dispatch(event, this);
 	}
+
+	/**
+	 * Dispatches the given {@link BusEvent} only to the {@link EventBusSubscriber}s
+	 * in the same @{@link Scoped} scope as this {@link EventBusSubscriber}.
+	 * <p>
+	 * Equivalent to calling {@link #dispatchScoped(BusEvent, boolean)} without
+	 * including nested scopes.
+	 * 
+	 * @param event
+	 *            The event to dispatch; <b>not</b> allowed to be null.
+	 * @return True if at least one {@link EventBusSubscriber} in the scope has
+	 *         subscribed to the {@link BusEvent}'s type, regardless of whether
+	 *         its {@link Subscribe.EventProperty} filters matched; false
+	 *         otherwise
+	 */
+	protected final boolean dispatchScoped(BusEvent event) {
+		return this.bus.dispatchScoped(event, this, false);
+	}
+
+	/**
+	 * Dispatches the given {@link BusEvent} only to the {@link EventBusSubscriber}s
+	 * in the same @{@link Scoped} scope as this {@link EventBusSubscriber}.
+	 * <p>
+	 * The scope of an {@link EventBusSubscriber} is the nearest @{@link Scoped}
+	 * {@link View} in the component hierarchy of its {@link #getScopeAnchor()};
+	 * {@link EventBusSubscriber}s without such a {@link View} share the global
+	 * scope.
+	 * 
+	 * @param event
+	 *            The event to dispatch; <b>not</b> allowed to be null.
+	 * @param includeNestedScopes
+	 *            Whether to also dispatch to {@link EventBusSubscriber}s of
+	 *            @{@link Scoped} scopes that are nested into the scope of this
+	 *            {@link EventBusSubscriber}.
+	 * @return True if at least one {@link EventBusSubscriber} in the scope has
+	 *         subscribed to the {@link BusEvent}'s type, regardless of whether
+	 *         its {@link Subscribe.EventProperty} filters matched; false
+	 *         otherwise
+	 */
+	protected final boolean dispatchScoped(BusEvent event, boolean includeNestedScopes) {
+		return this.bus.dispatchScoped(event, this, includeNestedScopes);
+	}
+
+	/**
+	 * Returns the {@link Component} whose position in the component hierarchy
+	 * determines the @{@link Scoped} scope of this {@link EventBusSubscriber}.
+	 * <p>
+	 * By default, an {@link EventBusSubscriber} has no anchor and is part of the
+	 * global scope; {@link Presenter}s are anchored at their {@link View}.
+	 * <p>
+	 * Once the hierarchy of the anchor reaches up to a {@link UI}, the scope is
+	 * final; returning a different anchor afterwards will not change it.
+	 * 
+	 * @return The anchor {@link Component}; might be null
+	 */
+	protected Component getScopeAnchor() {
+		return null;
+	}
+
+	/**
+	 * Dispatches the given {@link BusEvent} through the global event bus
+	 * deferred.
+	 * <p>
+	 * The {@link Executor} configured for the {@link CottonServlet} hands the event
+	 * over to the current {@link CottonUI}, where it is delivered to the
+	 * subscribing {@link Method}s while the {@link CottonUI}'s session is locked, so
+	 * the subscribers are allowed to manipulate the UI. The calling method returns
+	 * immediately, but since the session lock is required, the delivery waits for
+	 * the calling request to release it; a slow subscriber still holds the lock for
+	 * as long as it runs, unless it is annotated with @{@link Subscribe#async()}.
+	 * <p>
+	 * Deferred events of the same {@link CottonUI} are delivered one after another,
+	 * in the order they were dispatched in; only @{@link Subscribe#async()}
+	 * {@link Method}s receiving them run on the {@link Executor} without the lock. Changes of the UI made by the
+	 * subscribers reach the client on its next request, or immediately if push is
+	 * enabled.
+	 * 
+	 * @param event
+	 *            The event to dispatch; <b>not</b> allowed to be null.
+	 * @return A {@link CompletableFuture} that completes with true if the
+	 *         {@link BusEvent} has been received by at least one
+	 *         {@link EventBusSubscriber}, false otherwise; never null
+	 */
+	protected final CompletableFuture<Boolean> dispatchAsync(BusEvent event) {
+		return this.bus.dispatchAsync(event, this);
+	}
+
+	/**
+	 * Executes the given mutation of the UI while holding the session lock of the
+	 * current {@link CottonUI}.
+	 * <p>
+	 * {@link Method}s annotated with @{@link Subscribe#async()} run without the
+	 * lock, so every change they make to {@link Component}s has to be passed to
+	 * this {@link Method}; it returns immediately and the mutation is executed as
+	 * soon as the lock is available. Mutations passed after the {@link CottonUI}
+	 * has been detached are discarded.
+	 * 
+	 * @param mutation
+	 *            The mutation to execute; <b>not</b> allowed to be null.
+	 */
+	protected final void accessUI(Runnable mutation) {
+		if (mutation == null) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+					"Unable to access the UI with a null mutation.");
+		}
+		this.bus.access(mutation);
+	}
+
+	/**
+	 * Queues the given {@link BusEvent} for being dispatched through the global
+	 * event bus asynchronously.
+	 * <p>
+	 * Every {@link CottonUI} owns a bounded queue, whose events are delivered in
+	 * batches on the {@link Executor} configured for the {@link CottonServlet};
+	 * all events queued until a batch starts are delivered within the same lock
+	 * of the {@link CottonUI}'s session, so a burst of events reaches the client
+	 * with a single push. What happens to events queued while the queue is full
+	 * is determined by the {@link QueueOverflowPolicy} configured for the
+	 * {@link CottonServlet}.
+	 * <p>
+	 * Events still queued when the {@link CottonUI} is detached are discarded.
+	 * 
+	 * @param event
+	 *            The event to queue; <b>not</b> allowed to be null.
+	 */
+	protected final void dispatchQueued(BusEvent event) {
+		this.bus.dispatchQueued(event, this);
+	}
+
+	/**
+	 * Dispatches the given {@link BusEvent} through the global event buses of
+	 * <b>all</b> currently attached {@link CottonUI}s of the application, including
+	 * the {@link CottonUI} of this {@link EventBusSubscriber}.
+	 * <p>
+	 * The event is delivered asynchronously using the {@link BroadcastBus}
+	 * configured for the {@link CottonServlet}; since it is shared between the
+	 * {@link CottonUI}s, it should be immutable.
+	 * 
+	 * @param event
+	 *            The event to broadcast; <b>not</b> allowed to be null.
+	 */
+	protected final void broadcast(BusEvent event) {
+		this.bus.broadcast(event);
+	}
+
+	/**
+	 * Discards the instance retained for the given @{@link Sticky} event type, so
+	 * {@link EventBusSubscriber}s initialized afterwards do not receive it anymore
+	 * until the next instance of the type is dispatched.
+	 * 
+	 * @param eventType
+	 *            The @{@link Sticky} event type to discard the retained instance
+	 *            of; <b>not</b> allowed to be null.
+	 */
+	protected final void clearStickyEvent(Class<? extends BusEvent> eventType) {
+		if (eventType == null) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+					"Unable to clear the retained event of a null event type.");
+		}
+		this.bus.clearStickyEvent(eventType);
+	}
 }
@@ -0,0 +1,216 @@
+package com.mantledillusion.vaadin.cotton;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.exception.WebException;
+import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
+
+/**
+ * Binary codec for batches of @{@link Distributable} {@link BusEvent}s.
+ * <p>
+ * A batch consists of a version byte, the amount of events and the events
+ * themselves, each being its type name followed by the amount of properties
+ * and their key/value pairs. Every string is written once per batch; repeated
+ * occurrences (such as the type name of equal events or common property keys)
+ * only refer to their first occurrence by index; a new string is written as
+ * the length of its UTF-8 encoding followed by the encoded bytes, so strings
+ * are not limited in length.
+ * <p>
+ * Since batches are received from other nodes, all counts are validated
+ * against the size of the batch before anything is allocated for them.
+ */
+final class EventCodec {
+
+	private static final int VERSION = 2;
+
+	private static final int STRING_NULL = 0;
+	private static final int STRING_NEW = 1;
+	private static final int STRING_REFERENCE_OFFSET = 2;
+
+	private static final ClassValue<Constructor<? extends BusEvent>> CONSTRUCTORS = new ClassValue<Constructor<? extends BusEvent>>() {
+
+		@SuppressWarnings("unchecked")
+		@Override
+		protected Constructor<? extends BusEvent> computeValue(Class<?> type) {
+			if (!BusEvent.class.isAssignableFrom(type) || !type.isAnnotationPresent(Distributable.class)) {
+				return null;
+			}
+			try {
+				Constructor<? extends BusEvent> constructor = (Constructor<? extends BusEvent>) type
+						.getDeclaredConstructor();
+				constructor.setAccessible(true);
+				return constructor;
+			} catch (NoSuchMethodException e) {
+				throw new WebException(HttpErrorCodes.HTTP904_ILLEGAL_ANNOTATION_USE,
+						"The @" + Distributable.class.getSimpleName() + " event type " + type.getName()
+								+ " does not declare a no-argument constructor, as it is required to re-create it on other nodes.",
+						e);
+			}
+		}
+	};
+
+	private EventCodec() {
+	}
+
+	/**
+	 * Returns whether the given event is @{@link Distributable}.
+	 */
+	static boolean isDistributable(BusEvent event) {
+		return CONSTRUCTORS.get(event.getClass()) != null;
+	}
+
+	static byte[] encode(List<BusEvent> events) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			Map<String, Integer> strings = new HashMap<>();
+			out.writeByte(VERSION);
+			writeVarInt(out, events.size());
+			for (BusEvent event : events) {
+				writeString(out, strings, event.getClass().getName());
+				writeVarInt(out, event.getPropertyCount());
+				for (int i = 0; i < event.getPropertyCount(); i++) {
+					writeString(out, strings, event.getPropertyKey(i));
+					writeString(out, strings, event.getPropertyValue(i));
+				}
+			}
+		} catch (IOException e) {
+			throw new WebException(HttpErrorCodes.HTTP500_INTERNAL_SERVER_ERROR,
+					"Unable to encode a batch of " + events.size() + " events.", e);
+		}
+		return bytes.toByteArray();
+	}
+
+	static List<BusEvent> decode(byte[] batch, ClassLoader classLoader) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(batch))) {
+			List<String> strings = new ArrayList<>();
+			int version = in.readUnsignedByte();
+			if (version != VERSION) {
+				throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+						"Unable to decode a batch of events of version " + version + "; only version " + VERSION
+								+ " is supported.");
+			}
+			// EVERY EVENT TAKES AT LEAST 2 BYTES AND EVERY PROPERTY AT LEAST 2 MORE
+			int eventCount = readCount(in, 2, "event");
+			List<BusEvent> events = new ArrayList<>();
+			for (int i = 0; i < eventCount; i++) {
+				BusEvent event = instantiate(readString(in, strings), classLoader);
+				int propertyCount = readCount(in, 2, "property");
+				String[] keys = new String[propertyCount];
+				String[] values = new String[propertyCount];
+				for (int j = 0; j < propertyCount; j++) {
+					keys[j] = readString(in, strings);
+					if (keys[j] == null) {
+						throw new IOException("Null property key");
+					}
+					values[j] = readString(in, strings);
+				}
+				// THE EVENT MIGHT FREEZE ITS PROPERTIES, SO THEY ARE RESTORED DIRECTLY
+				event.restoreProperties(keys, values, propertyCount);
+				events.add(event);
+			}
+			return events;
+		} catch (IOException e) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+					"Unable to decode a malformed batch of events.", e);
+		}
+	}
+
+	private static BusEvent instantiate(String typeName, ClassLoader classLoader) {
+		if (typeName == null) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+					"Unable to decode an event without a type.");
+		}
+		Class<?> type;
+		try {
+			type = Class.forName(typeName, false, classLoader);
+		} catch (ClassNotFoundException e) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+					"Unable to decode an event of the unknown type " + typeName, e);
+		}
+		Constructor<? extends BusEvent> constructor = CONSTRUCTORS.get(type);
+		if (constructor == null) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR, "Unable to decode an event of the type "
+					+ typeName + "; it is not a @" + Distributable.class.getSimpleName() + " event type.");
+		}
+		try {
+			return constructor.newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new WebException(HttpErrorCodes.HTTP500_INTERNAL_SERVER_ERROR,
+					"Unable to instantiate an event of the type " + typeName, e);
+		}
+	}
+
+	private static void writeString(DataOutputStream out, Map<String, Integer> strings, String s)
+			throws IOException {
+		if (s == null) {
+			writeVarInt(out, STRING_NULL);
+		} else if (strings.containsKey(s)) {
+			writeVarInt(out, STRING_REFERENCE_OFFSET + strings.get(s));
+		} else {
+			strings.put(s, strings.size());
+			byte[] encoded = s.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(out, STRING_NEW);
+			writeVarInt(out, encoded.length);
+			out.write(encoded);
+		}
+	}
+
+	private static String readString(DataInputStream in, List<String> strings) throws IOException {
+		int marker = readVarInt(in);
+		if (marker == STRING_NULL) {
+			return null;
+		} else if (marker == STRING_NEW) {
+			byte[] encoded = new byte[readCount(in, 1, "string byte")];
+			in.readFully(encoded);
+			String s = new String(encoded, StandardCharsets.UTF_8);
+			strings.add(s);
+			return s;
+		} else if (marker >= STRING_REFERENCE_OFFSET && marker - STRING_REFERENCE_OFFSET < strings.size()) {
+			return strings.get(marker - STRING_REFERENCE_OFFSET);
+		} else {
+			throw new IOException("Reference to unknown string #" + (marker - STRING_REFERENCE_OFFSET));
+		}
+	}
+
+	private static int readCount(DataInputStream in, int minBytesPerElement, String element) throws IOException {
+		int count = readVarInt(in);
+		if (count < 0) {
+			throw new IOException("Negative " + element + " count " + count);
+		} else if (count > in.available() / minBytesPerElement) {
+			throw new IOException("The " + element + " count " + count + " exceeds the remaining "
+					+ in.available() + " bytes of the batch");
+		}
+		return count;
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable length integer");
+	}
+}
@@ -0,0 +1,51 @@
+package com.mantledillusion.vaadin.cotton;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+
+/**
+ * Transport that connects the {@link BroadcastBus}es of multiple nodes of an
+ * application.
+ * <P>
+ * The {@link BroadcastBus} serializes @{@link Distributable} {@link BusEvent}s
+ * into batches itself; implementations only have to move these batches to
+ * <b>all other</b> nodes and hand them to the {@link Receiver} of the
+ * {@link BroadcastBus} there. A batch sent by a node must not be received by
+ * that same node again.
+ */
+public interface EventTransport {
+
+	/**
+	 * Receiver of batches sent by other nodes.
+	 */
+	public interface Receiver {
+
+		/**
+		 * Receives a batch of events sent by another node.
+		 * 
+		 * @param batch
+		 *            The batch, exactly as given to {@link EventTransport#send(byte[])}
+		 *            on the sending node; never null.
+		 */
+		void receive(byte[] batch);
+	}
+
+	/**
+	 * Connects the given {@link Receiver} to the transport.
+	 * <P>
+	 * Is called once by the {@link BroadcastBus} the transport is given to.
+	 * 
+	 * @param receiver
+	 *            The receiver to hand all batches of other nodes to; never null.
+	 */
+	void connect(Receiver receiver);
+
+	/**
+	 * Sends the given batch of events to all other nodes.
+	 * <P>
+	 * Is called by a single thread at a time.
+	 * 
+	 * @param batch
+	 *            The batch to send; never null.
+	 */
+	void send(byte[] batch);
+}
@@ -20,6 +20,10 @@ final class LocalizationControl extends java.util.ResourceBundle.Control {
 		this.extension = extension;
 	}
 
+	String getExtension() {
+		return this.extension;
+	}
+
 	@Override
 	public ResourceBundle newBundle(String baseName, Locale locale, String format, ClassLoader loader,
 			boolean reload) throws IllegalAccessException, InstantiationException, IOException {
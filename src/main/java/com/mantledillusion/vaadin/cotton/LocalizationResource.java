@@ -4,167 +4,444 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.Set;
 
-import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.collections4.SetUtils;
 import org.apache.commons.lang3.ArrayUtils;
-import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.StringUtils;
 
 import com.mantledillusion.vaadin.cotton.exception.WebException;
 import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
 
+/**
+ * The messages of all resource bundles of a single language.
+ * <p>
+ * Every message is compiled into an immutable array of {@link Token}s when its
+ * bundle is added; all compiled messages are held by an immutable
+ * {@link Catalog}, so rendering a message is lock-free and never parses the
+ * message's template.
+ * <p>
+ * Slots of indexed parameters like '{0}' know their index, so indexed
+ * parameters are resolved by their position in the given array; all tokens of
+ * a message are rendered into a single {@link StringBuilder} that is reused by
+ * the rendering thread. Renderings nested into another one, for example by a
+ * parameter whose {@link Object#toString()} renders a message itself, use a
+ * builder of their own.
+ * <p>
+ * As messages without parameter slots always render equally when rendered
+ * without any parameters, the {@link Catalog} also holds the final
+ * {@link String} of every such message; since the catalog is shared by all
+ * sessions using the language, such renderings are computed once and only take
+ * memory proportional to the bundles themselves.
+ * <p>
+ * The {@link Catalog} is built once after all bundles have been added. A bundle
+ * may be replaced by a newer version of itself at any time; the replacement is
+ * compiled into a new {@link Catalog} which is then swapped in, so renderings
+ * either see all of the old or all of the new messages.
+ */
 final class LocalizationResource {
 
-	private interface Evaluateable {
+	private static final int MAX_REUSED_BUILDER_CAPACITY = 4096;
 
-		String evaluate(Map<String, Object> msgParameters);
+	private static final Object NO_PARAMETER = new Object();
 
-		Evaluateable collapse();
+	private static final ThreadLocal<RenderContext> RENDER_CONTEXT = ThreadLocal.withInitial(RenderContext::new);
+
+	/**
+	 * The reused {@link StringBuilder} of a thread and the depth of the renderings
+	 * currently running on it.
+	 */
+	private static final class RenderContext {
+
+		private StringBuilder builder = new StringBuilder();
+		private int depth;
+	}
+
+	// #########################################################################################################################################
+	// ################################################################ TOKENS #################################################################
+	// #########################################################################################################################################
+
+	private static abstract class Token {
+
+		abstract void render(StringBuilder sb, Catalog catalog, Map<String, Object> namedMsgParameters,
+				Object[] indexedMsgParameters);
+
+		/**
+		 * Returns whether the token renders equally whenever no parameters are given.
+		 */
+		boolean isConstant() {
+			return false;
+		}
 	}
 
-	private final class StaticEvaluateable implements Evaluateable {
+	/**
+	 * Text outside of braces, rendered as it is.
+	 */
+	private static final class LiteralToken extends Token {
 
-		private final String content;
+		private final String text;
 
-		private StaticEvaluateable(String content) {
-			this.content = content;
+		private LiteralToken(String text) {
+			this.text = text;
 		}
 
 		@Override
-		public String evaluate(Map<String, Object> msgParameters) {
-			return replaceOrLocalize(this.content, msgParameters);
+		void render(StringBuilder sb, Catalog catalog, Map<String, Object> namedMsgParameters,
+				Object[] indexedMsgParameters) {
+			sb.append(this.text);
 		}
 
 		@Override
-		public Evaluateable collapse() {
-			return this;
+		boolean isConstant() {
+			return true;
 		}
 	}
 
-	private final class DynamicEvaluateable implements Evaluateable {
+	/**
+	 * A name in braces like '{name}' or an index in braces like '{0}', rendered as
+	 * the parameter of that name or index; if there is none, as the message whose
+	 * id the name is or the name itself.
+	 */
+	private final class ParameterToken extends Token {
 
-		private final List<Evaluateable> content = new ArrayList<>();
+		private final String name;
+		private final int index;
+		private final String fallback;
+		private final boolean isMsgReference;
+		private final boolean isUnknownMsgId;
+
+		private ParameterToken(String name, String fallback, boolean isMsgReference, boolean isUnknownMsgId) {
+			this.name = name;
+			this.index = toIndex(name);
+			this.fallback = fallback;
+			this.isMsgReference = isMsgReference;
+			this.isUnknownMsgId = isUnknownMsgId;
+		}
 
 		@Override
-		public String evaluate(Map<String, Object> msgParameters) {
-			StringBuilder sb = new StringBuilder();
-			this.content.forEach(evaluateable -> sb.append(evaluateable.evaluate(msgParameters)));
-			return replaceOrLocalize(sb.toString(), msgParameters);
+		boolean isConstant() {
+			return this.isMsgReference;
 		}
 
 		@Override
-		public Evaluateable collapse() {
-			if (this.content.size() == 1) {
-				return this.content.get(0).collapse();
+		void render(StringBuilder sb, Catalog catalog, Map<String, Object> namedMsgParameters,
+				Object[] indexedMsgParameters) {
+			Object parameter = lookup(this.name, this.index, namedMsgParameters, indexedMsgParameters);
+			if (parameter != NO_PARAMETER) {
+				sb.append(Objects.toString(parameter));
 			} else {
-				for (int i = 0; i < this.content.size(); i++) {
-					this.content.set(i, this.content.get(i).collapse());
+				if (this.isUnknownMsgId) {
+					warnUnknownMsgId(this.name);
 				}
-				return this;
+				sb.append(this.fallback);
 			}
 		}
 	}
 
+	/**
+	 * Braces containing further braces like '{user.{0}}', whose content is
+	 * rendered first and then used as the name of a parameter or message.
+	 */
+	private final class NestedToken extends Token {
+
+		private final Token[] nameTokens;
+
+		private NestedToken(Token[] nameTokens) {
+			this.nameTokens = nameTokens;
+		}
+
+		@Override
+		void render(StringBuilder sb, Catalog catalog, Map<String, Object> namedMsgParameters,
+				Object[] indexedMsgParameters) {
+			int nameStart = sb.length();
+			for (Token token : this.nameTokens) {
+				token.render(sb, catalog, namedMsgParameters, indexedMsgParameters);
+			}
+			String name = sb.substring(nameStart);
+			sb.setLength(nameStart);
+
+			Object parameter = lookup(name, toIndex(name), namedMsgParameters, indexedMsgParameters);
+			if (parameter != NO_PARAMETER) {
+				sb.append(Objects.toString(parameter));
+			} else if (catalog.messages.containsKey(name)) {
+				sb.append(catalog.messages.get(name));
+			} else {
+				if (name.matches(CottonUI.REGEX_TYPICAL_MESSAGE_ID)) {
+					warnUnknownMsgId(name);
+				}
+				sb.append(name);
+			}
+		}
+	}
+
+	// #########################################################################################################################################
+	// ################################################################ CATALOG ################################################################
+	// #########################################################################################################################################
+
+	private static final class Catalog {
+
+		private final Map<String, String> messages;
+		private final Map<String, Token[]> templates;
+		private final Map<String, String> renderings;
+
+		private Catalog(Map<String, String> messages, Map<String, Token[]> templates) {
+			this.messages = messages;
+			this.templates = templates;
+
+			Map<String, String> renderings = new HashMap<>();
+			for (Entry<String, Token[]> template : templates.entrySet()) {
+				// MESSAGES WITH PARAMETER SLOTS ARE EXPECTED TO BE RENDERED WITH PARAMETERS
+				if (isConstant(template.getValue())) {
+					renderings.put(template.getKey(),
+							render(template.getValue(), this, null, ArrayUtils.EMPTY_OBJECT_ARRAY));
+				}
+			}
+			this.renderings = Collections.unmodifiableMap(renderings);
+		}
+
+		private static boolean isConstant(Token[] template) {
+			for (Token token : template) {
+				if (!token.isConstant()) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
 	private final Locale locale;
-	private final Map<String, ResourceBundle> bundles = new HashMap<>();
-	private final Map<String, Evaluateable> evaluateables = new HashMap<>();
+	private final Map<String, ResourceBundle> bundles = new LinkedHashMap<>();
+	private final Map<String, Set<String>> bundleKeys = new HashMap<>();
+	private volatile Catalog catalog = new Catalog(Collections.emptyMap(), Collections.emptyMap());
 
 	LocalizationResource(Locale locale) {
 		this.locale = locale;
 	}
 
+	/**
+	 * Adds the given bundle without compiling it; {@link #buildCatalog()} has to
+	 * be called once all bundles of the language have been added.
+	 * <p>
+	 * A bundle of the same base name must not have been added before; replacing
+	 * it is reserved to {@link LocalizationWatcher}.
+	 */
 	void addBundle(ResourceBundle bundle, Set<String> bundleKeys) {
-		Set<String> intersection = SetUtils.intersection(bundles.keySet(), bundleKeys);
-		if (intersection.isEmpty()) {
-			MapUtils.populateMap(this.bundles, bundleKeys, key -> key, value -> bundle);
-		} else {
-			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR, "The resource bundle "
-					+ bundle.getBaseBundleName()
+		String baseName = bundle.getBaseBundleName();
+		if (this.bundles.containsKey(baseName)) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR, "The resource bundle " + baseName
+					+ " has already been added for the language '" + this.locale.getISO3Language()
+					+ "'; bundles can only be replaced by reloading them.");
+		}
+		checkBundleReplaceable(baseName, bundleKeys);
+		this.bundles.put(baseName, bundle);
+		this.bundleKeys.put(baseName, bundleKeys);
+	}
+
+	/**
+	 * Checks whether the bundle of the given base name could be replaced by a
+	 * bundle with the given keys without sharing message ids with the other
+	 * bundles of the language.
+	 */
+	void checkBundleReplaceable(String baseName, Set<String> bundleKeys) {
+		List<String> duplicates = new ArrayList<>();
+		for (Entry<String, Set<String>> entry : this.bundleKeys.entrySet()) {
+			if (!entry.getKey().equals(baseName)) {
+				for (String key : SetUtils.intersection(entry.getValue(), bundleKeys)) {
+					duplicates.add("'" + key + "' (also in " + entry.getKey() + ")");
+				}
+			}
+		}
+		if (!duplicates.isEmpty()) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR, "The resource bundle " + baseName
 					+ " shares the following message ids with other bundles of the same language, which is forbidden: "
-					+ Arrays.toString(intersection.stream()
-							.map(key -> "'" + key + "' (also in " + this.bundles.get(key).getBaseBundleName() + ")")
-							.toArray()));
+					+ Arrays.toString(duplicates.toArray()));
 		}
 	}
 
+	/**
+	 * Adds the given bundle under the given base name, replacing the bundle that
+	 * was added under that name before, and swaps in a newly compiled
+	 * {@link Catalog}.
+	 * <p>
+	 * Bundles may only be added or replaced by a single thread at a time.
+	 */
+	void replaceBundle(String baseName, ResourceBundle bundle, Set<String> bundleKeys) {
+		checkBundleReplaceable(baseName, bundleKeys);
+		this.bundles.put(baseName, bundle);
+		this.bundleKeys.put(baseName, bundleKeys);
+		buildCatalog();
+	}
+
+	/**
+	 * Compiles all bundles added so far into a new {@link Catalog} and swaps it in.
+	 */
+	void buildCatalog() {
+		Map<String, String> messages = new HashMap<>();
+		for (Entry<String, ResourceBundle> entry : this.bundles.entrySet()) {
+			for (String key : this.bundleKeys.get(entry.getKey())) {
+				messages.put(key, entry.getValue().getString(key));
+			}
+		}
+		Map<String, Token[]> templates = new HashMap<>();
+		for (Entry<String, String> message : messages.entrySet()) {
+			templates.put(message.getKey(), compile(message.getKey(), message.getValue(), messages));
+		}
+		this.catalog = new Catalog(Collections.unmodifiableMap(messages), Collections.unmodifiableMap(templates));
+	}
+
 	boolean hasLocalization(String msgId) {
-		return this.bundles.containsKey(msgId);
+		return this.catalog.messages.containsKey(msgId);
 	}
 
 	String renderMessage(String msgId, Map<String, Object> namedMsgParameters, Object... indexedMsgParameters) {
-		if (this.bundles.containsKey(msgId)) {
-			Map<String, Object> params = new HashMap<>(
-					ObjectUtils.defaultIfNull(namedMsgParameters, Collections.emptyMap()));
-			indexedMsgParameters = ObjectUtils.defaultIfNull(indexedMsgParameters, ArrayUtils.EMPTY_OBJECT_ARRAY);
-			for (int i = 0; i < indexedMsgParameters.length; i++) {
-				params.put(String.valueOf(i), indexedMsgParameters[i]);
+		Catalog catalog = this.catalog;
+		if ((namedMsgParameters == null || namedMsgParameters.isEmpty())
+				&& (indexedMsgParameters == null || indexedMsgParameters.length == 0)) {
+			String rendering = catalog.renderings.get(msgId);
+			if (rendering != null) {
+				return rendering;
 			}
+		}
 
-			if (!this.evaluateables.containsKey(msgId)) {
-				this.evaluateables.put(msgId, createEvaluteable(msgId, this.bundles.get(msgId).getString(msgId)));
-			}
-			return this.evaluateables.get(msgId).evaluate(params);
+		Token[] template = catalog.templates.get(msgId);
+		if (template != null) {
+			return render(template, catalog, namedMsgParameters,
+					indexedMsgParameters == null ? ArrayUtils.EMPTY_OBJECT_ARRAY : indexedMsgParameters);
 		} else if (msgId.matches(CottonUI.REGEX_TYPICAL_MESSAGE_ID)) {
-			CottonUI.LOGGER.warn("Unable to localize '" + msgId + "' with bundle of language '"
-					+ locale.getISO3Language() + "': msgId is not matching any resource key.");
+			warnUnknownMsgId(msgId);
 		}
 		return msgId;
 	}
 
-	private Evaluateable createEvaluteable(String msgId, String unevaluatedMsg) {
-		if (StringUtils.countMatches(unevaluatedMsg, '{') != StringUtils.countMatches(unevaluatedMsg, '}')) {
-			CottonUI.LOGGER.warn("Unable to localize '" + msgId + "' with bundle of language '"
-					+ locale.getISO3Language() + "': the message '" + unevaluatedMsg
-					+ "' is malformatted; it does not contain the same amount of '{' as it does '}'.");
-			return new StaticEvaluateable(unevaluatedMsg);
+	private static String render(Token[] template, Catalog catalog, Map<String, Object> namedMsgParameters,
+			Object[] indexedMsgParameters) {
+		RenderContext context = RENDER_CONTEXT.get();
+		StringBuilder sb = context.depth == 0 ? context.builder : new StringBuilder();
+		context.depth++;
+		try {
+			for (Token token : template) {
+				token.render(sb, catalog, namedMsgParameters, indexedMsgParameters);
+			}
+			return sb.toString();
+		} finally {
+			context.depth--;
+			if (sb == context.builder) {
+				if (sb.capacity() > MAX_REUSED_BUILDER_CAPACITY) {
+					context.builder = new StringBuilder();
+				} else {
+					sb.setLength(0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the parameter of the given name or index, or {@link #NO_PARAMETER}
+	 * if there is none; as indexed parameters are given after named ones, they
+	 * take precedence.
+	 */
+	private static Object lookup(String name, int index, Map<String, Object> namedMsgParameters,
+			Object[] indexedMsgParameters) {
+		if (index >= 0 && index < indexedMsgParameters.length) {
+			return indexedMsgParameters[index];
+		} else if (namedMsgParameters != null && namedMsgParameters.containsKey(name)) {
+			return namedMsgParameters.get(name);
+		}
+		return NO_PARAMETER;
+	}
+
+	/**
+	 * Returns the index the given name denotes, or -1 if it is not a decimal,
+	 * non-negative int written without leading zeros.
+	 */
+	private static int toIndex(String name) {
+		int length = name.length();
+		if (length == 0 || length > 9 || (length > 1 && name.charAt(0) == '0')) {
+			return -1;
+		}
+		int index = 0;
+		for (int i = 0; i < length; i++) {
+			char c = name.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			index = index * 10 + (c - '0');
 		}
-		DynamicEvaluateable rootEvaluateable = new DynamicEvaluateable();
-		evaluateInto(rootEvaluateable, unevaluatedMsg);
-		return rootEvaluateable.collapse();
+		return index;
+	}
+
+	private void warnUnknownMsgId(String msgId) {
+		CottonUI.LOGGER.warn("Unable to localize '" + msgId + "' with bundle of language '"
+				+ this.locale.getISO3Language() + "': msgId is not matching any resource key.");
 	}
 
-	private String evaluateInto(DynamicEvaluateable currentLevelEvaluateable, String msgRest) {
-		while (!msgRest.isEmpty()) {
-			if (msgRest.charAt(0) == '{') {
-				DynamicEvaluateable lowerLevelEvaluateable = new DynamicEvaluateable();
-				currentLevelEvaluateable.content.add(lowerLevelEvaluateable);
-				msgRest = evaluateInto(lowerLevelEvaluateable, msgRest.substring(1));
-			} else if (msgRest.charAt(0) == '}') {
-				return msgRest.substring(1);
+	// #########################################################################################################################################
+	// ############################################################### COMPILING ###############################################################
+	// #########################################################################################################################################
+
+	private Token[] compile(String msgId, String msg, Map<String, String> messages) {
+		List<Token> tokens = new ArrayList<>();
+		int end = compileInto(tokens, msg, 0, false, messages);
+		if (end != msg.length()) {
+			CottonUI.LOGGER.warn("Unable to compile '" + msgId + "' of the bundle of language '"
+					+ this.locale.getISO3Language() + "': the message '" + msg
+					+ "' is malformatted; its '{' and '}' are not balanced.");
+			return new Token[] { new LiteralToken(msg) };
+		}
+		return tokens.toArray(new Token[tokens.size()]);
+	}
+
+	/**
+	 * Compiles the message from the given index on into the given tokens, up to
+	 * the '}' closing the current braces or the end of the message.
+	 *
+	 * @return The index after the closing '}' if the braces are closed, the
+	 *         message's length if the end has been reached and -1 if the message
+	 *         is malformatted
+	 */
+	private int compileInto(List<Token> tokens, String msg, int index, boolean isInBraces,
+			Map<String, String> messages) {
+		while (index < msg.length()) {
+			char c = msg.charAt(index);
+			if (c == '{') {
+				List<Token> nameTokens = new ArrayList<>();
+				index = compileInto(nameTokens, msg, index + 1, true, messages);
+				if (index == -1) {
+					return -1;
+				}
+				tokens.add(toSlot(nameTokens, messages));
+			} else if (c == '}') {
+				return isInBraces ? index + 1 : -1;
 			} else {
-				int nextOpening = msgRest.indexOf('{');
-				int nextClosing = msgRest.indexOf('}');
-				if (nextOpening == nextClosing) { // CAN ONLY BE IN -1 CASE
-					currentLevelEvaluateable.content.add(new StaticEvaluateable(msgRest));
-					return StringUtils.EMPTY;
-				} else {
-					nextOpening = nextOpening == -1 ? Integer.MAX_VALUE : nextOpening;
-					nextClosing = nextClosing == -1 ? Integer.MAX_VALUE : nextClosing;
-					String content = msgRest.substring(0, Math.min(nextOpening, nextClosing));
-					currentLevelEvaluateable.content.add(new StaticEvaluateable(content));
-					msgRest = msgRest.substring(content.length());
+				int next = index;
+				while (next < msg.length() && msg.charAt(next) != '{' && msg.charAt(next) != '}') {
+					next++;
 				}
+				tokens.add(new LiteralToken(msg.substring(index, next)));
+				index = next;
 			}
 		}
-		return StringUtils.EMPTY;
+		return isInBraces ? -1 : index;
 	}
 
-	private String replaceOrLocalize(String msgId, Map<String, Object> msgParameters) {
-		if (msgParameters.containsKey(msgId)) {
-			return Objects.toString(msgParameters.get(msgId));
-		} else if (this.bundles.containsKey(msgId)) {
-			return this.bundles.get(msgId).getString(msgId);
-		} else if (msgId.matches(CottonUI.REGEX_TYPICAL_MESSAGE_ID)) {
-			CottonUI.LOGGER.warn("Unable to localize '" + msgId + "' with bundle of language '"
-					+ locale.getISO3Language() + "': msgId is not matching any resource key.");
+	private Token toSlot(List<Token> nameTokens, Map<String, String> messages) {
+		if (nameTokens.isEmpty()) {
+			return new ParameterToken("", "", false, false);
+		} else if (nameTokens.size() == 1 && nameTokens.get(0) instanceof LiteralToken) {
+			String name = ((LiteralToken) nameTokens.get(0)).text;
+			if (messages.containsKey(name)) {
+				return new ParameterToken(name, messages.get(name), true, false);
+			} else {
+				return new ParameterToken(name, name, false, name.matches(CottonUI.REGEX_TYPICAL_MESSAGE_ID));
+			}
+		} else {
+			return new NestedToken(nameTokens.toArray(new Token[nameTokens.size()]));
 		}
-		return msgId;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,264 @@
+package com.mantledillusion.vaadin.cotton;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections4.SetUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mantledillusion.vaadin.cotton.exception.WebException;
+import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
+
+/**
+ * Watches the resource files of registered localizations for changes and
+ * replaces their bundles in the {@link LocalizationResource}s of their
+ * languages.
+ * <p>
+ * Only resource files that reside in the file system (such as in an exploded
+ * deployment) can be watched; resources inside of archives are skipped.
+ * <p>
+ * A changed localization is re-parsed for all of its languages and only
+ * replaced if the message ids of all languages are still equal and do not
+ * collide with other bundles of the same language; otherwise the old bundles
+ * are kept. A failing reload is logged and does not stop the watcher.
+ */
+final class LocalizationWatcher implements Runnable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LocalizationWatcher.class);
+
+	private static final long SETTLE_MILLIS = 200;
+
+	/**
+	 * A localization registered for a base name in a set of languages.
+	 */
+	static final class Registration {
+
+		private final String baseName;
+		private final LocalizationControl control;
+		private final Map<String, Locale> locales = new LinkedHashMap<>();
+
+		Registration(String baseName, LocalizationControl control) {
+			this.baseName = baseName;
+			this.control = control;
+		}
+
+		void addLocale(Locale locale) {
+			this.locales.put(locale.getISO3Language(), locale);
+		}
+	}
+
+	private final Map<String, LocalizationResource> resourceBundleRegistry;
+	private final ClassLoader classLoader;
+	private final WatchService watchService;
+	private final Map<Path, Registration> registrationsByFile = new HashMap<>();
+	private final Thread thread;
+
+	private LocalizationWatcher(Map<String, LocalizationResource> resourceBundleRegistry, ClassLoader classLoader,
+			WatchService watchService) {
+		this.resourceBundleRegistry = resourceBundleRegistry;
+		this.classLoader = classLoader;
+		this.watchService = watchService;
+		this.thread = new Thread(this, "cotton-localization-watcher");
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * Starts watching the resource files of the given registrations.
+	 *
+	 * @return The running watcher; never null
+	 */
+	static LocalizationWatcher start(Iterable<Registration> registrations,
+			Map<String, LocalizationResource> resourceBundleRegistry) {
+		return start(registrations, resourceBundleRegistry, LocalizationWatcher.class.getClassLoader());
+	}
+
+	/**
+	 * Starts watching the resource files of the given registrations, which are
+	 * found using the given {@link ClassLoader}.
+	 *
+	 * @return The running watcher; never null
+	 */
+	static LocalizationWatcher start(Iterable<Registration> registrations,
+			Map<String, LocalizationResource> resourceBundleRegistry, ClassLoader classLoader) {
+		WatchService watchService;
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+		} catch (IOException e) {
+			throw new WebException(HttpErrorCodes.HTTP500_INTERNAL_SERVER_ERROR,
+					"Unable to create a watch service for reloading localizations.", e);
+		}
+
+		LocalizationWatcher watcher = new LocalizationWatcher(resourceBundleRegistry, classLoader, watchService);
+		Set<Path> directories = new HashSet<>();
+		for (Registration registration : registrations) {
+			for (Locale locale : registration.locales.values()) {
+				Path file = toFile(registration, locale, classLoader);
+				if (file != null) {
+					watcher.registrationsByFile.put(file, registration);
+					if (directories.add(file.getParent())) {
+						try {
+							file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+									StandardWatchEventKinds.ENTRY_MODIFY);
+						} catch (IOException e) {
+							LOGGER.warn("Unable to watch the directory " + file.getParent()
+									+ " for changes of localization resources.", e);
+						}
+					}
+				}
+			}
+		}
+		watcher.thread.start();
+		return watcher;
+	}
+
+	private static Path toFile(Registration registration, Locale locale, ClassLoader classLoader) {
+		String resourceName = registration.control.toResourceName(
+				registration.control.toBundleName(registration.baseName, locale), registration.control.getExtension());
+		URL url = classLoader.getResource(resourceName);
+		if (url == null || !"file".equals(url.getProtocol())) {
+			LOGGER.warn("Unable to watch the localization resource '" + resourceName
+					+ "' for changes; only resources in the file system can be reloaded.");
+			return null;
+		}
+		try {
+			return Paths.get(url.toURI()).toAbsolutePath().normalize();
+		} catch (URISyntaxException e) {
+			LOGGER.warn("Unable to watch the localization resource '" + resourceName + "' for changes.", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Stops watching; the bundles replaced so far are kept.
+	 */
+	void stop() {
+		try {
+			this.watchService.close();
+		} catch (IOException e) {
+			LOGGER.warn("Unable to close the watch service of reloading localizations.", e);
+		}
+	}
+
+	@Override
+	public void run() {
+		while (true) {
+			Set<Registration> changed = new LinkedHashSet<>();
+			try {
+				WatchKey key = this.watchService.take();
+				// EDITORS OFTEN WRITE A FILE IN MULTIPLE STEPS, SO CHANGES ARE COLLECTED UNTIL THEY SETTLE
+				do {
+					collect(key, changed);
+				} while ((key = this.watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null);
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				// STOPPED
+				return;
+			} catch (RuntimeException e) {
+				LOGGER.error("Unable to collect the changes of localization resources; "
+						+ "reloading the changes collected so far.", e);
+			}
+
+			for (Registration registration : changed) {
+				try {
+					reload(registration);
+				} catch (RuntimeException e) {
+					LOGGER.error("Unable to reload the localization '" + registration.baseName
+							+ "'; keeping the current localization.", e);
+				}
+			}
+		}
+	}
+
+	private void collect(WatchKey key, Set<Registration> changed) {
+		try {
+			Path directory = (Path) key.watchable();
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.context() instanceof Path) {
+					Registration registration = this.registrationsByFile
+							.get(directory.resolve((Path) event.context()).toAbsolutePath().normalize());
+					if (registration != null) {
+						changed.add(registration);
+					}
+				}
+			}
+		} finally {
+			// A KEY THAT IS NOT RESET IS NOT SIGNALLED ANYMORE
+			key.reset();
+		}
+	}
+
+	private void reload(Registration registration) {
+		Map<String, ResourceBundle> bundles = new LinkedHashMap<>();
+		Map<String, Set<String>> bundleKeys = new HashMap<>();
+		Set<String> expectedBundleKeys = null;
+		for (Entry<String, Locale> entry : registration.locales.entrySet()) {
+			Locale locale = entry.getValue();
+			ResourceBundle bundle;
+			try {
+				bundle = registration.control.newBundle(registration.baseName, locale, "java.properties",
+						this.classLoader, true);
+			} catch (ReflectiveOperationException | IOException | RuntimeException e) {
+				LOGGER.error("Unable to reload the localization '" + registration.baseName + "' for locale "
+						+ locale + "; keeping the current localization.", e);
+				return;
+			}
+			if (bundle == null) {
+				LOGGER.error("Unable to find the localization resource '" + registration.baseName + "' for locale "
+						+ locale + " anymore; keeping the current localization.");
+				return;
+			}
+
+			Set<String> keys = new HashSet<>(Collections.list(bundle.getKeys()));
+			if (expectedBundleKeys == null) {
+				expectedBundleKeys = keys;
+			} else {
+				Set<String> difference = SetUtils.disjunction(expectedBundleKeys, keys);
+				if (!difference.isEmpty()) {
+					LOGGER.error("The changed localization resource '" + registration.baseName + "' for locale "
+							+ locale + " differs from the resources of the other locales regarding the message ids "
+							+ difference + "; keeping the current localization.");
+					return;
+				}
+			}
+			bundles.put(entry.getKey(), bundle);
+			bundleKeys.put(entry.getKey(), keys);
+		}
+
+		try {
+			for (String lang : bundles.keySet()) {
+				this.resourceBundleRegistry.get(lang).checkBundleReplaceable(registration.baseName,
+						bundleKeys.get(lang));
+			}
+		} catch (WebException e) {
+			LOGGER.error("Unable to reload the localization '" + registration.baseName
+					+ "'; keeping the current localization.", e);
+			return;
+		}
+
+		for (Entry<String, ResourceBundle> entry : bundles.entrySet()) {
+			this.resourceBundleRegistry.get(entry.getKey()).replaceBundle(registration.baseName, entry.getValue(),
+					bundleKeys.get(entry.getKey()));
+		}
+		LOGGER.info("Reloaded the localization '" + registration.baseName + "' for the languages " + bundles.keySet());
+	}
+}
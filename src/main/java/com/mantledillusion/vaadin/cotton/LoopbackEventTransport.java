@@ -0,0 +1,64 @@
+package com.mantledillusion.vaadin.cotton;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.mantledillusion.vaadin.cotton.exception.WebException;
+import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
+
+/**
+ * In-memory {@link EventTransport} that connects multiple {@link BroadcastBus}es
+ * of the same JVM as if they were running on different nodes.
+ * <P>
+ * Every instance is a single node; further nodes of the same network are
+ * created using {@link #newNode()}. Batches are delivered synchronously on the
+ * sending thread, which makes the transport suitable for tests.
+ */
+public final class LoopbackEventTransport implements EventTransport {
+
+	private final List<LoopbackEventTransport> network;
+	private volatile Receiver receiver;
+
+	/**
+	 * Creates the first node of a new network.
+	 */
+	public LoopbackEventTransport() {
+		this(new CopyOnWriteArrayList<>());
+	}
+
+	private LoopbackEventTransport(List<LoopbackEventTransport> network) {
+		this.network = network;
+		this.network.add(this);
+	}
+
+	/**
+	 * Creates a new node in the network of this node.
+	 * 
+	 * @return A new node; never null
+	 */
+	public LoopbackEventTransport newNode() {
+		return new LoopbackEventTransport(this.network);
+	}
+
+	@Override
+	public void connect(Receiver receiver) {
+		if (receiver == null) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+					"Cannot connect a null receiver to a transport.");
+		} else if (this.receiver != null) {
+			throw new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR,
+					"This transport node is already connected to a receiver.");
+		}
+		this.receiver = receiver;
+	}
+
+	@Override
+	public void send(byte[] batch) {
+		for (LoopbackEventTransport node : this.network) {
+			Receiver receiver = node.receiver;
+			if (node != this && receiver != null) {
+				receiver.receive(batch.clone());
+			}
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.UUID;
+
+import com.mantledillusion.injection.hura.annotation.Inspected;
+import com.mantledillusion.injection.hura.annotation.Validated;
+import com.mantledillusion.vaadin.cotton.UrlResourceRegistry.PathParamInspector;
+import com.mantledillusion.vaadin.cotton.UrlResourceRegistry.PathParamValidator;
+import com.mantledillusion.vaadin.cotton.exception.WebException;
+import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Addressed;
+
+/**
+ * {@link Annotation} for fields that require the value of a parameter segment
+ * of the URL route the current view is @{@link Addressed} by.
+ * <p>
+ * For example, a view @{@link Addressed} by 'orders/{orderId}' that is
+ * displayed for the URL 'orders/4711' will receive the value '4711' in all
+ * fields annotated with @{@link PathParam}("orderId").
+ * <p>
+ * The value is converted to the type of the annotated field, which might be
+ * {@link String}, {@link Integer}, {@link Long}, {@link UUID}, any {@link Enum}
+ * or the primitives int and long. If the value cannot be converted, a
+ * {@link HttpErrorCodes#HTTP404_NOT_FOUND} {@link WebException} is thrown.
+ */
+@Retention(RUNTIME)
+@Target(FIELD)
+@Validated(PathParamValidator.class)
+@Inspected(PathParamInspector.class)
+public @interface PathParam {
+
+	/**
+	 * The name of the parameter segment whose value to inject.
+	 * 
+	 * @return The parameter's name, without the surrounding braces; not allowed
+	 *         to be blank
+	 */
+	String value();
+}
@@ -0,0 +1,36 @@
+package com.mantledillusion.vaadin.cotton;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+
+/**
+ * Policy how the dispatch queue of a {@link CottonUI} handles
+ * {@link BusEvent}s queued using
+ * {@link EventBusSubscriber#dispatchQueued(BusEvent)} when it is full.
+ */
+public enum QueueOverflowPolicy {
+
+	/**
+	 * The oldest queued event is dropped to make room for the new one.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Events are coalesced by the value of their coalescing property; a queued
+	 * event is replaced in place by a newer event with the same value, so only
+	 * the latest event per value is delivered. If the queue is full and the new
+	 * event does not replace a queued one, the oldest queued event is dropped.
+	 * <p>
+	 * Events without the coalescing property are never coalesced.
+	 */
+	KEEP_LATEST_PER_KEY,
+
+	/**
+	 * The queuing thread is blocked until there is room in the queue.
+	 * <p>
+	 * Threads holding the lock of the {@link CottonUI}'s session are never
+	 * blocked; they deliver the queued events themselves instead. The event is
+	 * rejected if the queuing thread is interrupted, if there is no room after a
+	 * timeout of 10 seconds or if the {@link CottonUI} is detached meanwhile.
+	 */
+	BLOCK;
+}
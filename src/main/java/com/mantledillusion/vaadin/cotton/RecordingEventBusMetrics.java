@@ -0,0 +1,202 @@
+package com.mantledillusion.vaadin.cotton;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+/**
+ * {@link EventBusMetrics} implementation that records the measurements in
+ * memory.
+ * <P>
+ * Records per {@link BusEvent} type how often it was dispatched and how many
+ * @{@link Subscribe} {@link Method}s it reached or was filtered out by as well
+ * as the dispatch cascades it caused, and per
+ * @{@link Subscribe} {@link Method} a {@link LatencyHistogram} of its delivery
+ * times.
+ */
+public final class RecordingEventBusMetrics implements EventBusMetrics {
+
+	/**
+	 * The dispatch counters of a single {@link BusEvent} type.
+	 */
+	public static final class DispatchStatistics {
+
+		private final LongAdder dispatches = new LongAdder();
+		private final LongAdder reached = new LongAdder();
+		private final LongAdder filtered = new LongAdder();
+		private final LongAdder cascades = new LongAdder();
+		private final LongAdder nestedDispatches = new LongAdder();
+
+		private DispatchStatistics() {
+		}
+
+		/**
+		 * Returns how often the event type has been dispatched.
+		 * 
+		 * @return The dispatch count
+		 */
+		public long getDispatches() {
+			return this.dispatches.sum();
+		}
+
+		/**
+		 * Returns how many @{@link Subscribe} {@link Method}s have received the event
+		 * type over all dispatches.
+		 * 
+		 * @return The count of reached subscribers
+		 */
+		public long getReached() {
+			return this.reached.sum();
+		}
+
+		/**
+		 * Returns how many @{@link Subscribe} {@link Method}s have not received the
+		 * event type over all dispatches due to their {@link Subscribe.EventProperty}
+		 * filters.
+		 * 
+		 * @return The count of filtered subscribers
+		 */
+		public long getFiltered() {
+			return this.filtered.sum();
+		}
+
+		/**
+		 * Returns how many dispatches of the event type caused further dispatches
+		 * by its subscribers.
+		 * 
+		 * @return The count of cascading dispatches
+		 */
+		public long getCascades() {
+			return this.cascades.sum();
+		}
+
+		/**
+		 * Returns how many dispatches have been nested into the dispatches of the
+		 * event type over all cascades.
+		 * 
+		 * @return The count of nested dispatches
+		 */
+		public long getNestedDispatches() {
+			return this.nestedDispatches.sum();
+		}
+	}
+
+	/**
+	 * Histogram of the delivery times of a single @{@link Subscribe}
+	 * {@link Method}.
+	 * <P>
+	 * Bucket 0 counts deliveries that took less than 1 microsecond; every bucket n
+	 * &gt; 0 counts deliveries that took [2^(n-1), 2^n) microseconds, the last
+	 * bucket also counting all longer deliveries.
+	 */
+	public static final class LatencyHistogram {
+
+		/**
+		 * The amount of buckets of every histogram.
+		 */
+		public static final int BUCKET_COUNT = 32;
+
+		private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+		private final LongAdder totalNanos = new LongAdder();
+
+		private LatencyHistogram() {
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				this.buckets[i] = new LongAdder();
+			}
+		}
+
+		private void record(long nanos) {
+			long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+			int bucket = Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+			this.buckets[bucket].increment();
+			this.totalNanos.add(nanos);
+		}
+
+		/**
+		 * Returns the count of deliveries in the given bucket.
+		 * 
+		 * @param bucket
+		 *            The bucket index; 0 &lt;= bucket &lt; {@link #BUCKET_COUNT}.
+		 * @return The delivery count
+		 */
+		public long getCount(int bucket) {
+			return this.buckets[bucket].sum();
+		}
+
+		/**
+		 * Returns the count of all deliveries.
+		 * 
+		 * @return The delivery count
+		 */
+		public long getTotalCount() {
+			long count = 0;
+			for (LongAdder bucket : this.buckets) {
+				count += bucket.sum();
+			}
+			return count;
+		}
+
+		/**
+		 * Returns the sum of the times of all deliveries.
+		 * 
+		 * @return The total delivery time in nanoseconds
+		 */
+		public long getTotalNanos() {
+			return this.totalNanos.sum();
+		}
+	}
+
+	private final Map<Class<? extends BusEvent>, DispatchStatistics> dispatchStatistics = new ConcurrentHashMap<>();
+	private final Map<Method, LatencyHistogram> latencyHistograms = new ConcurrentHashMap<>();
+
+	private DispatchStatistics statisticsOf(Class<? extends BusEvent> eventType) {
+		return this.dispatchStatistics.computeIfAbsent(eventType, type -> new DispatchStatistics());
+	}
+
+	@Override
+	public void dispatched(Class<? extends BusEvent> eventType, int reached, int filtered) {
+		DispatchStatistics statistics = statisticsOf(eventType);
+		statistics.dispatches.increment();
+		statistics.reached.add(reached);
+		statistics.filtered.add(filtered);
+	}
+
+	@Override
+	public void delivered(Class<? extends BusEvent> eventType, Class<? extends EventBusSubscriber> subscriberType,
+			Method method, long nanos) {
+		this.latencyHistograms.computeIfAbsent(method, m -> new LatencyHistogram()).record(nanos);
+	}
+
+	@Override
+	public void cascaded(Class<? extends BusEvent> eventType, int nestedDispatches) {
+		DispatchStatistics statistics = statisticsOf(eventType);
+		statistics.cascades.increment();
+		statistics.nestedDispatches.add(nestedDispatches);
+	}
+
+	/**
+	 * Returns the dispatch counters of all {@link BusEvent} types dispatched so
+	 * far.
+	 * 
+	 * @return An unmodifiable live view of the counters; never null
+	 */
+	public Map<Class<? extends BusEvent>, DispatchStatistics> getDispatchStatistics() {
+		return Collections.unmodifiableMap(this.dispatchStatistics);
+	}
+
+	/**
+	 * Returns the delivery time histograms of all @{@link Subscribe}
+	 * {@link Method}s that received events so far.
+	 * 
+	 * @return An unmodifiable live view of the histograms; never null
+	 */
+	public Map<Method, LatencyHistogram> getLatencyHistograms() {
+		return Collections.unmodifiableMap(this.latencyHistograms);
+	}
+}
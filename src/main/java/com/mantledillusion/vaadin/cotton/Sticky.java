@@ -0,0 +1,39 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+import com.mantledillusion.vaadin.cotton.viewpresenter.View;
+
+/**
+ * {@link Annotation} for {@link BusEvent} implementations whose last dispatched
+ * instance is retained by the event bus of a {@link CottonUI}.
+ * <P>
+ * {@link EventBusSubscriber}s created after the event has been dispatched
+ * receive the retained instance upon their initialization in all
+ * @{@link Subscribe} {@link Method}s that set {@link Subscribe#sticky()}, so
+ * they do not have to query the state the event describes on their own.
+ * <P>
+ * Suspended {@link EventBusSubscriber}s, such as the ones of cached
+ * {@link View}s, receive the instances retained while they were suspended once
+ * they are resumed. Instances an {@link EventBusSubscriber} dispatched itself
+ * are only replayed to its {@link Method}s that are
+ * {@link Subscribe#isSelfObservant()}.
+ * <P>
+ * The instance is retained per exact event type until the next instance is
+ * dispatched, until it is discarded using
+ * {@link EventBusSubscriber#clearStickyEvent(Class)} or until the
+ * {@link CottonUI} is detached; the annotation is not inherited.
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface Sticky {
+
+}
@@ -1,32 +1,146 @@
 package com.mantledillusion.vaadin.cotton;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
+import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import com.mantledillusion.injection.hura.AnnotationValidator;
 import com.mantledillusion.injection.hura.Blueprint;
 import com.mantledillusion.injection.hura.Blueprint.TypedBlueprint;
+import com.mantledillusion.injection.hura.Inspector;
+import com.mantledillusion.injection.hura.Injector.TemporalInjectorCallback;
+import com.mantledillusion.injection.hura.annotation.Construct;
 import com.mantledillusion.vaadin.cotton.exception.WebException;
 import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
 import com.mantledillusion.vaadin.cotton.viewpresenter.Addressed;
 import com.mantledillusion.vaadin.cotton.viewpresenter.View;
 
+/**
+ * Registry of the resources available at the URLs of a {@link CottonServlet}.
+ * <p>
+ * Resources are held in a trie of URL segments, where every node might have
+ * literal children and one parameter child. A literal segment takes
+ * precedence over a parameter segment at the same position; if the rest of
+ * the URL does not match below the literal, matching backtracks to the
+ * parameter. So resolving a URL usually takes time proportional to its amount
+ * of segments, but every literal branch that fails to match adds a walk of
+ * its sub tree; in the worst case, where literals and parameters compete on
+ * every level, the walks grow exponentially with the amount of segments.
+ * <p>
+ * Once the {@link CottonServlet} is configured, the registry is frozen using
+ * {@link #freeze()}; from then on, it is immutable and shared by all
+ * {@link CottonUI}s without synchronization.
+ */
 final class UrlResourceRegistry {
 
-	private final Map<String, UrlResource> resourceRegistry = new HashMap<>();
+	// #########################################################################################################################################
+	// ############################################################## PATH PARAM ###############################################################
+	// #########################################################################################################################################
+
+	static class PathParamValidator implements AnnotationValidator<PathParam, Field> {
+
+		@Override
+		public void validate(PathParam annotationInstance, Field annotatedElement) throws Exception {
+			if (!isConvertible(annotatedElement.getType())) {
+				throw new WebException(HttpErrorCodes.HTTP904_ILLEGAL_ANNOTATION_USE,
+						"The field '" + annotatedElement.getName() + "' in the type '"
+								+ annotatedElement.getDeclaringClass().getSimpleName() + "' is annotated with @"
+								+ PathParam.class.getSimpleName() + ", but the fields type "
+								+ annotatedElement.getType().getSimpleName()
+								+ " is none of the types a path parameter can be converted to.");
+			} else if (Modifier.isStatic(annotatedElement.getModifiers())) {
+				throw new WebException(HttpErrorCodes.HTTP904_ILLEGAL_ANNOTATION_USE,
+						"The field '" + annotatedElement.getName() + "' in the type '"
+								+ annotatedElement.getDeclaringClass().getSimpleName() + "' is annotated with @"
+								+ PathParam.class.getSimpleName() + ", but the field is static.");
+			} else if (StringUtils.isBlank(annotationInstance.value())) {
+				throw new WebException(HttpErrorCodes.HTTP904_ILLEGAL_ANNOTATION_USE,
+						"The field '" + annotatedElement.getName() + "' in the type '"
+								+ annotatedElement.getDeclaringClass().getSimpleName() + "' is annotated with @"
+								+ PathParam.class.getSimpleName() + ", but the path parameter name '"
+								+ annotationInstance.value() + "' is blank, which is not allowed.");
+			}
+		}
+
+		private static boolean isConvertible(Class<?> type) {
+			type = ClassUtils.primitiveToWrapper(type);
+			return type == String.class || type == Integer.class || type == Long.class || type == UUID.class
+					|| type.isEnum();
+		}
+	}
+
+	static class PathParamInspector implements Inspector<PathParam, Field> {
+
+		@Construct
+		private PathParamInspector() {
+		}
+
+		@Override
+		public void inspect(Object bean, PathParam annotationInstance, Field annotatedElement,
+				TemporalInjectorCallback callback) throws Exception {
+			CottonUI ui = CottonUI.current();
+			if (!ui.hasPathParam(annotationInstance.value())) {
+				throw new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR,
+						"The field '" + annotatedElement.getName() + "' in the type '"
+								+ annotatedElement.getDeclaringClass().getSimpleName() + "' requires the path parameter '"
+								+ annotationInstance.value()
+								+ "', but the route of the current URL does not define such a parameter.");
+			}
+
+			annotatedElement.setAccessible(true);
+			annotatedElement.set(bean, convert(annotationInstance.value(), ui.getPathParam(annotationInstance.value()),
+					annotatedElement.getType()));
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private static Object convert(String name, String value, Class<?> type) {
+			type = ClassUtils.primitiveToWrapper(type);
+			try {
+				if (type == Integer.class) {
+					return Integer.valueOf(value);
+				} else if (type == Long.class) {
+					return Long.valueOf(value);
+				} else if (type == UUID.class) {
+					return UUID.fromString(value);
+				} else if (type.isEnum()) {
+					return Enum.valueOf((Class<? extends Enum>) type, value);
+				} else {
+					return value;
+				}
+			} catch (IllegalArgumentException e) {
+				throw new WebException(HttpErrorCodes.HTTP404_NOT_FOUND, "The value '" + value
+						+ "' of the path parameter '" + name + "' is no valid " + type.getSimpleName() + ".", e);
+			}
+		}
+	}
+
+	// #########################################################################################################################################
+	// ############################################################### RESOURCES ###############################################################
+	// #########################################################################################################################################
+
+	private final Node root = new Node();
 	private final Map<String, String> redirectRegistry = new HashMap<>();
+	private volatile Map<String, UrlMatch> frozenPaths;
 
 	private abstract class UrlResource {
 
 		private final boolean isGone;
 		private final boolean isView;
 		private final Set<String> redirectTargetOf = new HashSet<>();
+		private String route;
+		private String[] parameterNames;
 
 		public UrlResource(boolean isGone, boolean isView) {
 			this.isGone = isGone;
@@ -64,31 +178,204 @@ final class UrlResourceRegistry {
 		}
 	}
 
+	private static final class Node {
+
+		private final Map<String, Node> literals = new HashMap<>();
+		private Node parameter;
+		private UrlResource resource;
+	}
+
+	/**
+	 * The resource a URL path resolves to, along with the values of the parameter
+	 * segments of the resource's route.
+	 * <p>
+	 * If the URL path is redirected, the match describes the resource at the
+	 * final target of the redirect.
+	 */
+	final class UrlMatch {
+
+		private final String path;
+		private final boolean isRedirect;
+		private final UrlResource resource;
+		private final Map<String, String> pathParams;
+
+		private UrlMatch(String path, boolean isRedirect, UrlResource resource, Map<String, String> pathParams) {
+			this.path = path;
+			this.isRedirect = isRedirect;
+			this.resource = resource;
+			this.pathParams = pathParams;
+		}
+
+		String getPath() {
+			return this.path;
+		}
+
+		boolean isRedirect() {
+			return this.isRedirect;
+		}
+
+		boolean isView() {
+			return this.resource.isView;
+		}
+
+		boolean isGone() {
+			return this.resource.isGone;
+		}
+
+		String getRoute() {
+			return this.resource.route;
+		}
+
+		TypedBlueprint<? extends View> getView() {
+			return this.resource.getViewResource();
+		}
+
+		Map<String, String> getPathParams() {
+			return this.pathParams;
+		}
+	}
+
 	boolean hasRedirectAt(String urlPath) {
-		return this.redirectRegistry.containsKey(urlPath);
+		UrlMatch match = match(urlPath);
+		return match != null && match.isRedirect;
 	}
 
 	boolean hasViewAt(String urlPath) {
-		return this.resourceRegistry.containsKey(urlPath) && this.resourceRegistry.get(urlPath).isView;
+		UrlMatch match = match(urlPath);
+		return match != null && !match.isRedirect && match.isView();
 	}
 
 	boolean hasGoneAt(String urlPath) {
-		return this.resourceRegistry.containsKey(urlPath) && this.resourceRegistry.get(urlPath).isGone;
+		UrlMatch match = match(urlPath);
+		return match != null && !match.isRedirect && match.isGone();
 	}
 
 	String getRedirectAt(String urlPath) {
-		while (this.redirectRegistry.containsKey(urlPath)) {
-			urlPath = this.redirectRegistry.get(urlPath);
-		}
-		return urlPath;
+		UrlMatch match = match(urlPath);
+		return match != null && match.isRedirect ? match.path : urlPath;
 	}
 
 	TypedBlueprint<? extends View> getViewAt(String urlPath) {
-		if (!hasViewAt(urlPath)) {
+		UrlMatch match = match(urlPath);
+		if (match == null || match.isRedirect || !match.isView()) {
 			throw new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR,
 					"There is no view resource registered at url '" + urlPath + "'.");
 		}
-		return this.resourceRegistry.get(urlPath).getViewResource();
+		return match.getView();
+	}
+
+	/**
+	 * Resolves the given URL path to the resource whose route matches it,
+	 * following redirects.
+	 * <p>
+	 * Once frozen, paths of redirects and of routes without parameter segments
+	 * are resolved by a single lookup.
+	 *
+	 * @param urlPath
+	 *            The segmented URL path to resolve; <b>not</b> allowed to be null.
+	 * @return The match of the resource, or null if there is no resource whose
+	 *         route matches the path
+	 */
+	UrlMatch match(String urlPath) {
+		Map<String, UrlMatch> frozenPaths = this.frozenPaths;
+		if (frozenPaths != null) {
+			UrlMatch match = frozenPaths.get(urlPath);
+			return match != null ? match : matchRoute(urlPath);
+		} else if (this.redirectRegistry.containsKey(urlPath)) {
+			return matchRedirect(urlPath);
+		} else {
+			return matchRoute(urlPath);
+		}
+	}
+
+	private UrlMatch matchRedirect(String urlPath) {
+		String target = urlPath;
+		while (this.redirectRegistry.containsKey(target)) {
+			target = this.redirectRegistry.get(target);
+		}
+		UrlMatch match = matchRoute(target);
+		return match == null ? null : new UrlMatch(target, true, match.resource, match.pathParams);
+	}
+
+	private UrlMatch matchRoute(String urlPath) {
+		String[] segments = StringUtils.split(urlPath, '/');
+		String[] values = new String[segments.length];
+		Node node = matchNode(this.root, segments, 0, values);
+		if (node == null) {
+			return null;
+		}
+
+		Map<String, String> pathParams = new LinkedHashMap<>();
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				pathParams.put(node.resource.parameterNames[i], values[i]);
+			}
+		}
+		return new UrlMatch(urlPath, false, node.resource,
+				pathParams.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(pathParams));
+	}
+
+	/*
+	 * Literal segments are preferred; if the rest of the path cannot be matched
+	 * below a literal segment, the parameter segment of the same level is tried,
+	 * so 'orders/export/csv' does not shadow 'orders/{orderId}' for 'orders/export'.
+	 * The values of parameter segments are only set along the matching branch.
+	 */
+	private static Node matchNode(Node node, String[] segments, int index, String[] values) {
+		if (node == null) {
+			return null;
+		} else if (index == segments.length) {
+			return node.resource != null ? node : null;
+		}
+
+		Node matched = matchNode(node.literals.get(segments[index]), segments, index + 1, values);
+		if (matched == null) {
+			matched = matchNode(node.parameter, segments, index + 1, values);
+			if (matched != null) {
+				values[index] = segments[index];
+			}
+		}
+		return matched;
+	}
+
+	/**
+	 * Freezes the registry, so no more resources can be registered.
+	 * <p>
+	 * Redirect chains are flattened to their final targets, and every redirect
+	 * and every route without parameter segments is resolved into a single
+	 * immutable entry of its path.
+	 */
+	void freeze() {
+		if (this.frozenPaths != null) {
+			return;
+		}
+
+		Map<String, UrlMatch> frozenPaths = new HashMap<>();
+		collectLiteralRoutes(this.root, frozenPaths);
+		for (String urlPath : this.redirectRegistry.keySet()) {
+			UrlMatch match = matchRedirect(urlPath);
+			if (match != null) {
+				frozenPaths.put(urlPath, match);
+			}
+		}
+		this.frozenPaths = Collections.unmodifiableMap(frozenPaths);
+	}
+
+	private void collectLiteralRoutes(Node node, Map<String, UrlMatch> frozenPaths) {
+		if (node.resource != null) {
+			frozenPaths.put(node.resource.route,
+					new UrlMatch(node.resource.route, false, node.resource, Collections.emptyMap()));
+		}
+		for (Node literal : node.literals.values()) {
+			collectLiteralRoutes(literal, frozenPaths);
+		}
+	}
+
+	private void checkNotFrozen() {
+		if (this.frozenPaths != null) {
+			throw new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR,
+					"Cannot register resources after the URL registry has been frozen at the end of the configuration phase.");
+		}
 	}
 
 	void registerViewResource(Class<? extends View> viewClass) {
@@ -96,12 +383,20 @@ final class UrlResourceRegistry {
 	}
 
 	void registerViewResource(TypedBlueprint<? extends View> viewBlueprint) {
+		checkNotFrozen();
 		if (viewBlueprint == null) {
 			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
 					"Cannot register a null blueprint as view resoruce.");
 		}
 
 		Addressed url = WebUtils.getAddressFrom(viewBlueprint.getRootType());
+		WebUtils.checkUrlRoutePattern(url.value());
+
+		if (url.redirects().length > 0 && isParameterized(url.value())) {
+			throw new WebException(HttpErrorCodes.HTTP907_ILLEGAL_STRUCTURING,
+					"Cannot redirect to the view '" + viewBlueprint.getRootType().getSimpleName() + "' at the route '"
+							+ url.value() + "'; redirects to routes with parameter segments are not supported.");
+		}
 
 		register(url.value(), new ViewResource(viewBlueprint));
 
@@ -126,31 +421,85 @@ final class UrlResourceRegistry {
 		}
 
 		if (!this.redirectRegistry.containsKey(redirectUrlPath)) {
-			this.resourceRegistry.get(redirectUrlPath).redirectTargetOf.add(redirectUrlPath);
+			findNode(StringUtils.split(redirectUrlPath, '/')).resource.redirectTargetOf.add(redirectUrlPath);
 		}
 		this.redirectRegistry.put(urlPath, redirectUrlPath);
 	}
 
 	void registerGoneResource(String urlPath) {
-		WebUtils.checkUrlPattern(urlPath);
+		checkNotFrozen();
+		WebUtils.checkUrlRoutePattern(urlPath);
 		register(urlPath, new GoneResource());
 	}
 
-	private void register(String url, UrlResource resource) {
-		checkUrlTarget(url);
-		this.resourceRegistry.put(url, resource);
+	private void register(String route, UrlResource resource) {
+		checkUrlTarget(route);
+
+		String[] segments = StringUtils.split(route, '/');
+		String[] parameterNames = new String[segments.length];
+		Set<String> uniqueNames = new HashSet<>();
+		Node node = this.root;
+		for (int i = 0; i < segments.length; i++) {
+			if (isParameter(segments[i])) {
+				parameterNames[i] = segments[i].substring(1, segments[i].length() - 1);
+				if (!uniqueNames.add(parameterNames[i])) {
+					throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+							"Cannot register the resource at route '" + route + "'; the parameter '"
+									+ parameterNames[i] + "' is defined more than once.");
+				}
+				if (node.parameter == null) {
+					node.parameter = new Node();
+				}
+				node = node.parameter;
+			} else {
+				node = node.literals.computeIfAbsent(segments[i], segment -> new Node());
+			}
+		}
+
+		resource.route = route;
+		resource.parameterNames = parameterNames;
+		node.resource = resource;
 	}
 
-	private void checkUrlTarget(String url) {
-		if (this.redirectRegistry.containsKey(url)) {
+	private void checkUrlTarget(String route) {
+		Node node = findNode(StringUtils.split(route, '/'));
+		if (this.redirectRegistry.containsKey(route)) {
 			throw new WebException(HttpErrorCodes.HTTP907_ILLEGAL_STRUCTURING,
-					"Cannot register the resource at url '" + url + "'; a redirect to '"
-							+ this.redirectRegistry.get(url) + "' is already registered at that path.");
-		} else if (this.resourceRegistry.containsKey(url)) {
-			throw new WebException(HttpErrorCodes.HTTP907_ILLEGAL_STRUCTURING,
-					"Cannot register the resource at url '" + url + "'; a "
-							+ (this.resourceRegistry.get(url).isView ? "view" : "gone")
-							+ " resource is already registered at that path.");
+					"Cannot register the resource at url '" + route + "'; a redirect to '"
+							+ this.redirectRegistry.get(route) + "' is already registered at that path.");
+		} else if (node != null && node.resource != null) {
+			if (node.resource.route.equals(route)) {
+				throw new WebException(HttpErrorCodes.HTTP907_ILLEGAL_STRUCTURING,
+						"Cannot register the resource at url '" + route + "'; a "
+								+ (node.resource.isView ? "view" : "gone")
+								+ " resource is already registered at that path.");
+			} else {
+				throw new WebException(HttpErrorCodes.HTTP907_ILLEGAL_STRUCTURING,
+						"Cannot register the resource at url '" + route + "'; it is ambiguous to the "
+								+ (node.resource.isView ? "view" : "gone") + " resource already registered at '"
+								+ node.resource.route + "', since both match exactly the same paths.");
+			}
+		}
+	}
+
+	private Node findNode(String[] segments) {
+		Node node = this.root;
+		for (int i = 0; i < segments.length && node != null; i++) {
+			node = isParameter(segments[i]) ? node.parameter : node.literals.get(segments[i]);
 		}
+		return node;
+	}
+
+	private static boolean isParameterized(String route) {
+		for (String segment : StringUtils.split(route, '/')) {
+			if (isParameter(segment)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isParameter(String segment) {
+		return segment.startsWith("{") && segment.endsWith("}");
 	}
 }
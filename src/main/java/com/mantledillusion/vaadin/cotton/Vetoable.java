@@ -0,0 +1,34 @@
+package com.mantledillusion.vaadin.cotton;
+
+import java.lang.reflect.Method;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+/**
+ * Interface for {@link BusEvent}s that announce a change their subscribers are
+ * able to {@link #decline()}.
+ * <P>
+ * Once a subscriber has declined a {@link Vetoable} event, the event is not
+ * delivered to any further subscribers, since their decision could not change
+ * the outcome anymore. As subscribers are called in the order of their
+ * {@link Subscribe#priority()}, cheap checks should be subscribed with a higher
+ * priority than expensive ones.
+ */
+public interface Vetoable {
+
+	/**
+	 * Marks the announced change to be declined.
+	 * <P>
+	 * The event will not be delivered to any further subscribing {@link Method}s.
+	 */
+	void decline();
+
+	/**
+	 * Returns whether the announced change is accepted by all retrievers of this
+	 * event.
+	 *
+	 * @return True if no retriever has called {@link #decline()}, false otherwise
+	 */
+	boolean doAccept();
+}
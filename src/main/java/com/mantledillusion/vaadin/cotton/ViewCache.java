@@ -0,0 +1,177 @@
+package com.mantledillusion.vaadin.cotton;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import com.mantledillusion.vaadin.cotton.viewpresenter.KeepAlive;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Prebuild;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Presented;
+import com.mantledillusion.vaadin.cotton.viewpresenter.View;
+
+/**
+ * The detached views of a {@link CottonUI} by their URL path; the
+ * @{@link KeepAlive} views navigated away from and the views that have been
+ * prebuilt for being navigated to as declared by @{@link Prebuild}.
+ * <p>
+ * The {@link EventBus.SubscriberGroup}s of all views in the cache are
+ * suspended. Views removed from the cache without being taken are destroyed.
+ * <p>
+ * The paths of views that failed to be prebuilt are remembered until the cache
+ * is cleared, so they are not tried again on every display.
+ * <p>
+ * The cache is only accessed while holding the lock of the {@link CottonUI}'s
+ * session.
+ */
+final class ViewCache {
+
+	static final class CachedView {
+
+		final View view;
+		final EventBus.SubscriberGroup subscribers;
+		final boolean isPrebuilt;
+
+		private CachedView(View view, EventBus.SubscriberGroup subscribers, boolean isPrebuilt) {
+			this.view = view;
+			this.subscribers = subscribers;
+			this.isPrebuilt = isPrebuilt;
+		}
+	}
+
+	private static final ClassValue<Boolean> PREBUILDABLE = new ClassValue<Boolean>() {
+
+		@Override
+		protected Boolean computeValue(Class<?> viewType) {
+			Presented presented = viewType.getAnnotation(Presented.class);
+			return !injectsUrlParams(viewType) && (presented == null || !injectsUrlParams(presented.value()));
+		}
+	};
+
+	private final int size;
+	private final Consumer<View> destroyer;
+	private final LinkedHashMap<String, CachedView> cached = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<String, CachedView> prebuilt = new LinkedHashMap<>();
+	private final Set<String> failedPrebuilds = new HashSet<>();
+
+	ViewCache(int size, Consumer<View> destroyer) {
+		this.size = size;
+		this.destroyer = destroyer;
+	}
+
+	/**
+	 * Determines whether the given view type can be prebuilt; views and their
+	 * presenters that inject @{@link PathParam}s or @{@link RequiredQueryParam}s
+	 * cannot, since they would be built for the URL of the view they are prebuilt
+	 * from.
+	 */
+	static boolean isPrebuildable(Class<? extends View> viewType) {
+		return PREBUILDABLE.get(viewType);
+	}
+
+	private static boolean injectsUrlParams(Class<?> type) {
+		for (Field field : FieldUtils.getAllFieldsList(type)) {
+			if (field.isAnnotationPresent(PathParam.class) || field.isAnnotationPresent(RequiredQueryParam.class)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	boolean isEnabled() {
+		return this.size > 0;
+	}
+
+	boolean contains(String urlPath) {
+		return this.cached.containsKey(urlPath) || this.prebuilt.containsKey(urlPath);
+	}
+
+	/**
+	 * Suspends the given view's subscribers and caches it; the least recently
+	 * cached views exceeding the size of the cache are destroyed.
+	 */
+	void cache(String urlPath, View view, EventBus.SubscriberGroup subscribers) {
+		subscribers.suspend();
+		this.cached.put(urlPath, new CachedView(view, subscribers, false));
+
+		Iterator<CachedView> eldest = this.cached.values().iterator();
+		while (this.cached.size() > this.size) {
+			View evicted = eldest.next().view;
+			eldest.remove();
+			this.destroyer.accept(evicted);
+		}
+	}
+
+	/**
+	 * Adds the given prebuilt view, whose subscribers have to be suspended
+	 * already.
+	 */
+	void prebuilt(String urlPath, View view, EventBus.SubscriberGroup subscribers) {
+		this.prebuilt.put(urlPath, new CachedView(view, subscribers, true));
+	}
+
+	/**
+	 * Remembers that the view at the given path could not be prebuilt.
+	 */
+	void prebuildFailed(String urlPath) {
+		this.failedPrebuilds.add(urlPath);
+	}
+
+	boolean hasPrebuildFailed(String urlPath) {
+		return this.failedPrebuilds.contains(urlPath);
+	}
+
+	/**
+	 * Removes the view at the given path from the cache; a cached view is
+	 * preferred over a prebuilt one, which is destroyed if both exist.
+	 *
+	 * @return The removed view, whose subscribers are still suspended; might be
+	 *         null if there is none
+	 */
+	CachedView take(String urlPath) {
+		CachedView cached = this.cached.remove(urlPath);
+		CachedView prebuilt = this.prebuilt.remove(urlPath);
+		if (cached == null) {
+			return prebuilt;
+		} else if (prebuilt != null) {
+			this.destroyer.accept(prebuilt.view);
+		}
+		return cached;
+	}
+
+	/**
+	 * Destroys all prebuilt views whose path is not among the given ones and
+	 * removes the paths of the prebuilt views that are kept from them.
+	 */
+	void retainPrebuilt(Set<String> urlPaths) {
+		Iterator<Map.Entry<String, CachedView>> prebuilt = this.prebuilt.entrySet().iterator();
+		while (prebuilt.hasNext()) {
+			Map.Entry<String, CachedView> entry = prebuilt.next();
+			if (!urlPaths.remove(entry.getKey())) {
+				prebuilt.remove();
+				this.destroyer.accept(entry.getValue().view);
+			}
+		}
+	}
+
+	/**
+	 * Destroys all cached and prebuilt views and forgets the failed prebuilds.
+	 */
+	void clear() {
+		List<CachedView> views = new ArrayList<>(this.cached.values());
+		views.addAll(this.prebuilt.values());
+		this.cached.clear();
+		this.prebuilt.clear();
+		this.failedPrebuilds.clear();
+		for (CachedView view : views) {
+			this.destroyer.accept(view.view);
+		}
+	}
+}
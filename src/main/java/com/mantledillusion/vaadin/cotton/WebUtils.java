@@ -13,6 +13,9 @@ public class WebUtils {
 
 	private static final String URL_SEGMENT_REGEX = "[a-zA-Z0-9_]+";
 	public static final String URL_PATH_REGEX = "(" + URL_SEGMENT_REGEX + "(/" + URL_SEGMENT_REGEX + ")*)?";
+	private static final String URL_ROUTE_SEGMENT_REGEX = "(" + URL_SEGMENT_REGEX + "|\\{" + URL_SEGMENT_REGEX + "\\})";
+	public static final String URL_ROUTE_REGEX = "(" + URL_ROUTE_SEGMENT_REGEX + "(/" + URL_ROUTE_SEGMENT_REGEX
+			+ ")*)?";
 
 	/**
 	 * Extracts the @{@link Addressed} {@link Annotation} from the given
@@ -62,4 +65,28 @@ public class WebUtils {
 							+ "'; the url does not match the valid format for segmented url paths: " + URL_PATH_REGEX);
 		}
 	}
+
+	/**
+	 * Checks whether the given URL route is not null and matches the pattern for
+	 * URL routes, which is {@link #URL_ROUTE_REGEX}.
+	 * <p>
+	 * Other than URL paths, routes might contain parameter segments like
+	 * 'orders/{orderId}', whose values can be injected using @{@link PathParam}.
+	 * 
+	 * @param route
+	 *            The route to check; might <b>not</b> be null or not matching to the
+	 *            pattern for valid URL routes.
+	 * @throws WebException
+	 *             Thrown if the given route is null or no valid URL route
+	 */
+	public static void checkUrlRoutePattern(String route) throws WebException {
+		if (route == null) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+					"Cannot register a resource at a null url.");
+		} else if (!route.matches(URL_ROUTE_REGEX)) {
+			throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
+					"Cannot register the resource at url '" + route
+							+ "'; the url does not match the valid format for segmented url routes: " + URL_ROUTE_REGEX);
+		}
+	}
 }
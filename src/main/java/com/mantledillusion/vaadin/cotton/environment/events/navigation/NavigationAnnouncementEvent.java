@@ -1,6 +1,7 @@
 package com.mantledillusion.vaadin.cotton.environment.events.navigation;
 
 import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.Vetoable;
 
 /**
  * {@link EventBusSubscriber.BusEvent} that is dispatched <b>before</b> a
@@ -10,7 +11,7 @@ import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
  * Subscribers declining the navigation are expected to trigger user notifying
  * mechanisms, so the user becomes aware why he could not navigate.
  */
-public final class NavigationAnnouncementEvent extends EventBusSubscriber.BusEvent {
+public final class NavigationAnnouncementEvent extends EventBusSubscriber.BusEvent implements Vetoable {
 
 	private final NavigationType navigationType;
 	private final NavigationInitiator navigationInitiator;
@@ -42,7 +43,10 @@ public final class NavigationAnnouncementEvent extends EventBusSubscriber.BusEve
 
 	/**
 	 * Marks the requested navigation to be declined.
+	 * <p>
+	 * The event will not be delivered to any further subscribers.
 	 */
+	@Override
 	public void decline() {
 		this.doAccept = false;
 	}
@@ -60,6 +64,7 @@ public final class NavigationAnnouncementEvent extends EventBusSubscriber.BusEve
 	 *
 	 * @return True if no retriever has called {@link #decline()}, false otherwise
 	 */
+	@Override
 	public boolean doAccept() {
 		return doAccept;
 	}
@@ -1,10 +1,12 @@
 package com.mantledillusion.vaadin.cotton.environment.events.navigation;
 
 import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.Sticky;
 
 /**
  * {@link EventBusSubscriber.BusEvent} that is dispatched after a navigation has been performed.
  */
+@Sticky
 public final class NavigationEvent extends EventBusSubscriber.BusEvent {
 
     private final NavigationType navigationType;
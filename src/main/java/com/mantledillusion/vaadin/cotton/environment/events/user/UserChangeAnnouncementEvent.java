@@ -1,6 +1,7 @@
 package com.mantledillusion.vaadin.cotton.environment.events.user;
 
 import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.Vetoable;
 
 /**
  * {@link EventBusSubscriber.BusEvent} that is dispatched <b>before</b> a user
@@ -11,7 +12,7 @@ import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
  * mechanisms, so the user becomes aware why the user change could not be
  * performed.
  */
-public final class UserChangeAnnouncementEvent extends EventBusSubscriber.BusEvent {
+public final class UserChangeAnnouncementEvent extends EventBusSubscriber.BusEvent implements Vetoable {
 
 	private final UserChangeType changeType;
 	private boolean doAccept = true;
@@ -32,7 +33,10 @@ public final class UserChangeAnnouncementEvent extends EventBusSubscriber.BusEve
 
 	/**
 	 * Marks the requested user change to be declined.
+	 * <p>
+	 * The event will not be delivered to any further subscribers.
 	 */
+	@Override
 	public void decline() {
 		this.doAccept = false;
 	}
@@ -50,6 +54,7 @@ public final class UserChangeAnnouncementEvent extends EventBusSubscriber.BusEve
 	 *
 	 * @return True if no retriever has called {@link #decline()}, false otherwise
 	 */
+	@Override
 	public boolean doAccept() {
 		return doAccept;
 	}
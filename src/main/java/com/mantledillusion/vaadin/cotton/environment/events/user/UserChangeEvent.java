@@ -1,10 +1,12 @@
 package com.mantledillusion.vaadin.cotton.environment.events.user;
 
 import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.Sticky;
 
 /**
  * {@link EventBusSubscriber.BusEvent} that is dispatched after a user change has been performed.
  */
+@Sticky
 public final class UserChangeEvent extends EventBusSubscriber.BusEvent {
 
     private final UserChangeType changeType;
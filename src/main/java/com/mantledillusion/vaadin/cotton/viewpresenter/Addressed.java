@@ -9,6 +9,7 @@ import java.lang.annotation.Target;
 import java.util.regex.Pattern;
 
 import com.mantledillusion.injection.hura.annotation.Validated;
+import com.mantledillusion.vaadin.cotton.PathParam;
 import com.mantledillusion.vaadin.cotton.WebUtils;
 import com.mantledillusion.vaadin.cotton.viewpresenter.View.AddressableValidator;
 
@@ -31,7 +32,10 @@ public @interface Addressed {
 		 * The segmented URL path that will be redirected.
 		 * <P>
 		 * The URL has to be validateable by
-		 * {@link WebUtils#checkUrlPattern(String)}.
+		 * {@link WebUtils#checkUrlPattern(String)}; other than the route of the
+		 * {@link View}, it cannot contain parameter segments, since redirects are
+		 * resolved by their exact path. A redirect takes precedence over routes
+		 * with parameter segments that match the same path.
 		 * 
 		 * @return The URL that is redirected; never null
 		 */
@@ -42,7 +46,16 @@ public @interface Addressed {
 	 * The segmented URL path the annotated {@link View} has to be addressable by.
 	 * <P>
 	 * The URL has to match the {@link Pattern}
-	 * {@link WebUtils#URL_PATH_REGEX}.
+	 * {@link WebUtils#URL_ROUTE_REGEX}; segments in braces like '{orderId}' are
+	 * parameters matching any value, which can be injected into the view using
+	 * {@link PathParam}. Literal segments take precedence over parameter
+	 * segments, so a view at 'orders/new' is preferred over a view at
+	 * 'orders/{orderId}' for the path 'orders/new'; a path that only matches a
+	 * literal segment partially, like 'orders/export' next to a view at
+	 * 'orders/export/csv', still matches the parameter segment.
+	 * <P>
+	 * Views addressed by a URL containing parameter segments cannot be
+	 * redirected to.
 	 * 
 	 * @return The URL the annotated {@link View} has to be addressable by; never
 	 *         null
@@ -0,0 +1,33 @@
+package com.mantledillusion.vaadin.cotton.viewpresenter;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import com.mantledillusion.vaadin.cotton.environment.events.navigation.NavigationEvent;
+import com.mantledillusion.vaadin.cotton.environment.events.navigation.NavigationType;
+
+/**
+ * {@link Annotation} for @{@link Addressed} {@link View} implementations whose
+ * instances should be kept alive when navigating away from them.
+ * <P>
+ * Instead of being destroyed, such a {@link View} is put into the view cache
+ * of its UI, keyed by the URL path it has been displayed for. When navigating
+ * back to that path, the cached instance is reattached instead of being
+ * rebuilt; its {@link Presenter}s receive the {@link NavigationEvent} of
+ * {@link NavigationType#SEGMENT_CHANGE} as usual, so they can refresh the
+ * {@link View}'s data.
+ * <P>
+ * While cached, no events of the event bus are delivered to the subscribers
+ * that have been created along with the {@link View}. The cache is limited in
+ * size, evicting and destroying the least recently displayed {@link View}s
+ * first; it is cleared whenever the logged in user changes.
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface KeepAlive {
+
+}
@@ -0,0 +1,50 @@
+package com.mantledillusion.vaadin.cotton.viewpresenter;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import com.mantledillusion.injection.hura.annotation.Validated;
+import com.mantledillusion.vaadin.cotton.PathParam;
+import com.mantledillusion.vaadin.cotton.QueryParam;
+import com.mantledillusion.vaadin.cotton.RequiredQueryParam;
+import com.mantledillusion.vaadin.cotton.viewpresenter.View.PrebuildValidator;
+
+/**
+ * {@link Annotation} for @{@link Addressed} {@link View} implementations that
+ * declare the {@link View}s the user is likely to navigate to next.
+ * <P>
+ * After an annotated {@link View} has been displayed, its UI instantiates the
+ * declared {@link View}s in the background once the current request has been
+ * answered. When navigating to one of them, the prebuilt instance is attached
+ * immediately instead of being built. Prebuilt {@link View}s that are not
+ * declared by the currently displayed {@link View} anymore are discarded, as
+ * well as all prebuilt {@link View}s when the logged in user changes.
+ * <P>
+ * While prebuilt, no events of the event bus are delivered to the subscribers
+ * that have been created along with the {@link View}.
+ * <P>
+ * NOTE: Since prebuilt {@link View}s are instantiated while the UI still
+ * displays the annotated {@link View}, only @{@link Addressed} {@link View}s
+ * without parameter segments can be declared; declared {@link View}s whose
+ * fields or whose {@link Presenter}'s fields are annotated with
+ * @{@link PathParam} or @{@link RequiredQueryParam} are not prebuilt, since
+ * they depend on the URL they are displayed at. {@link View}s reading
+ * {@link QueryParam}s on their own should not be declared.
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+@Validated(PrebuildValidator.class)
+public @interface Prebuild {
+
+	/**
+	 * Defines the {@link View}s to prebuild after the annotated {@link View} has
+	 * been displayed, in the order of their likelihood.
+	 * 
+	 * @return The @{@link Addressed} {@link View}s to prebuild; never null
+	 */
+	Class<? extends View>[] value();
+}
@@ -1,8 +1,20 @@
 package com.mantledillusion.vaadin.cotton.viewpresenter;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.reflect.MethodUtils;
 
 import com.mantledillusion.injection.hura.AnnotationValidator;
@@ -12,6 +24,7 @@ import com.mantledillusion.vaadin.cotton.exception.WebException;
 import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
 import com.mantledillusion.vaadin.cotton.viewpresenter.View.TemporalActiveComponentRegistry;
 import com.vaadin.ui.AbstractComponent;
+import com.vaadin.ui.Component;
 
 /**
  * Basic super type for a presenter that controls an {@link View}.
@@ -133,16 +146,141 @@ public abstract class Presenter<T extends View> extends EventBusSubscriber {
 	// ################################################################## TYPE #################################################################
 	// #########################################################################################################################################
 
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Presenter.class, Object.class);
+
+	/**
+	 * A single @{@link Listen} {@link Method} of a {@link Presenter} type, with
+	 * its event type resolved and bound to an invoker taking the presenter and
+	 * the event.
+	 */
+	private static final class ListenerDescriptor {
+
+		private final Class<?> eventType;
+		private final String[] componentIds;
+		private final MethodHandle invoker;
+
+		private ListenerDescriptor(Class<?> eventType, String[] componentIds, MethodHandle invoker) {
+			this.eventType = eventType;
+			this.componentIds = componentIds;
+			this.invoker = invoker;
+		}
+	}
+
+	/**
+	 * The invokers of all @{@link Listen} {@link Method}s of a {@link Presenter}
+	 * type that a component receives for one event type.
+	 */
+	private static final class ListenerGroup {
+
+		private final Class<?> eventType;
+		private final MethodHandle[] invokers;
+
+		private ListenerGroup(Class<?> eventType, MethodHandle[] invokers) {
+			this.eventType = eventType;
+			this.invokers = invokers;
+		}
+	}
+
+	/**
+	 * The {@link ListenerGroup}s of a {@link Presenter} type by the componentIds
+	 * they listen to; the groups of a componentId already contain the listeners
+	 * that listen to all components.
+	 */
+	private static final class ListenerIndex {
+
+		private final Map<String, ListenerGroup[]> byComponentId;
+		private final ListenerGroup[] forAllComponents;
+
+		private ListenerIndex(Map<String, ListenerGroup[]> byComponentId, ListenerGroup[] forAllComponents) {
+			this.byComponentId = byComponentId;
+			this.forAllComponents = forAllComponents;
+		}
+	}
+
+	/**
+	 * Receives the events of one type of a single component and passes them to
+	 * the invokers of a {@link Presenter}'s {@link ListenerGroup}.
+	 */
+	private static final class BoundListener {
+
+		private static final Method RECEIVE;
+
+		static {
+			try {
+				RECEIVE = BoundListener.class.getDeclaredMethod("receive", Object.class);
+				RECEIVE.setAccessible(true);
+			} catch (NoSuchMethodException e) {
+				throw new WebException(HttpErrorCodes.HTTP500_INTERNAL_SERVER_ERROR,
+						"Unable to find the method receiving component events.", e);
+			}
+		}
+
+		private final Presenter<?> presenter;
+		private final MethodHandle[] invokers;
+
+		private BoundListener(Presenter<?> presenter, MethodHandle[] invokers) {
+			this.presenter = presenter;
+			this.invokers = invokers;
+		}
+
+		@SuppressWarnings("unused")
+		private void receive(Object event) {
+			for (MethodHandle invoker : this.invokers) {
+				try {
+					invoker.invokeExact(this.presenter, event);
+				} catch (Throwable t) {
+					ExceptionUtils.rethrow(t);
+				}
+			}
+		}
+	}
+
+	// The @Listen methods of a type never change, so they are indexed once per type
+	private static final ClassValue<ListenerIndex> LISTENERS = new ClassValue<ListenerIndex>() {
+
+		@Override
+		protected ListenerIndex computeValue(Class<?> type) {
+			return indexListeners(collectListeners(type));
+		}
+	};
+
 	private T view;
 
 	protected final T getView() {
 		return view;
 	}
 
+	/**
+	 * Returns the {@link View} of this {@link Presenter}, whose position in the
+	 * component hierarchy determines the @{@link Scoped} scope of this
+	 * {@link Presenter}.
+	 */
+	@Override
+	protected final Component getScopeAnchor() {
+		return this.view;
+	}
+
 	final void setView(T view, TemporalActiveComponentRegistry reg) {
 		this.view = view;
 
-		for (Method method : MethodUtils.getMethodsListWithAnnotation(getClass(), Listen.class, true, true)) {
+		// EVERY COMPONENT IS BOUND WITH ONE LOOKUP AND ONE LISTENER PER EVENT TYPE
+		ListenerIndex listeners = LISTENERS.get(getClass());
+		if (!listeners.byComponentId.isEmpty() || listeners.forAllComponents.length > 0) {
+			reg.bindComponents(listeners.byComponentId.keySet(), (componentId, component) -> {
+				for (ListenerGroup group : listeners.byComponentId.getOrDefault(componentId,
+						listeners.forAllComponents)) {
+					component.addListener(group.eventType, new BoundListener(this, group.invokers),
+							BoundListener.RECEIVE);
+				}
+			});
+		}
+
+		receiveStickyEvents();
+	}
+
+	private static List<ListenerDescriptor> collectListeners(Class<?> type) {
+		List<ListenerDescriptor> listeners = new ArrayList<>();
+		for (Method method : MethodUtils.getMethodsListWithAnnotation(type, Listen.class, true, true)) {
 			// COMPONENT EVENT METHODS
 			if (method.isAnnotationPresent(Listen.class)) {
 				if (!method.isAccessible()) {
@@ -151,28 +289,71 @@ public abstract class Presenter<T extends View> extends EventBusSubscriber {
 					} catch (SecurityException e) {
 						throw new WebException(HttpErrorCodes.HTTP904_ILLEGAL_ANNOTATION_USE,
 								"Unable to gain access to the method '" + method.getName() + "' of the type "
-										+ Presenter.this.getClass().getSimpleName() + ".",
+										+ type.getSimpleName() + ".",
 								e);
 					}
 				}
 
+				MethodHandle invoker;
+				try {
+					invoker = MethodHandles.lookup().unreflect(method);
+				} catch (IllegalAccessException e) {
+					throw new WebException(HttpErrorCodes.HTTP904_ILLEGAL_ANNOTATION_USE,
+							"Unable to bind the method '" + method.getName() + "' of the type "
+									+ type.getSimpleName() + " for invocation.",
+							e);
+				}
+
 				Class<?> eventType = null;
 				if (method.getParameterCount() == 1) {
 					eventType = method.getParameterTypes()[0];
 				} else {
 					eventType = Object.class;
+					invoker = MethodHandles.dropArguments(invoker, 1, Object.class);
 				}
 
-				Listen annotation = method.getAnnotation(Listen.class);
+				listeners.add(new ListenerDescriptor(eventType, method.getAnnotation(Listen.class).value(),
+						invoker.asType(INVOKER_TYPE)));
+			}
+		}
+		return listeners;
+	}
 
-				if (annotation.value().length == 0) {
-					reg.addListener(null, eventType, this, method);
-				} else {
-					for (String componentId : annotation.value()) {
-						reg.addListener(componentId, eventType, this, method);
-					}
+	private static ListenerIndex indexListeners(List<ListenerDescriptor> listeners) {
+		List<ListenerDescriptor> forAllComponents = new ArrayList<>();
+		Set<String> componentIds = new LinkedHashSet<>();
+		for (ListenerDescriptor listener : listeners) {
+			if (listener.componentIds.length == 0) {
+				forAllComponents.add(listener);
+			} else {
+				for (String componentId : listener.componentIds) {
+					componentIds.add(componentId);
+				}
+			}
+		}
+
+		Map<String, ListenerGroup[]> byComponentId = new HashMap<>();
+		for (String componentId : componentIds) {
+			List<ListenerDescriptor> componentListeners = new ArrayList<>();
+			for (ListenerDescriptor listener : listeners) {
+				if (listener.componentIds.length == 0 || ArrayUtils.contains(listener.componentIds, componentId)) {
+					componentListeners.add(listener);
 				}
 			}
+			byComponentId.put(componentId, group(componentListeners));
+		}
+		return new ListenerIndex(byComponentId, group(forAllComponents));
+	}
+
+	private static ListenerGroup[] group(List<ListenerDescriptor> listeners) {
+		Map<Class<?>, List<MethodHandle>> invokers = new LinkedHashMap<>();
+		for (ListenerDescriptor listener : listeners) {
+			invokers.computeIfAbsent(listener.eventType, eventType -> new ArrayList<>()).add(listener.invoker);
+		}
+		List<ListenerGroup> groups = new ArrayList<>();
+		for (Map.Entry<Class<?>, List<MethodHandle>> entry : invokers.entrySet()) {
+			groups.add(new ListenerGroup(entry.getKey(), entry.getValue().toArray(new MethodHandle[0])));
 		}
+		return groups.toArray(new ListenerGroup[0]);
 	}
 }
@@ -0,0 +1,37 @@
+package com.mantledillusion.vaadin.cotton.viewpresenter;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+
+/**
+ * {@link Annotation} for {@link View} implementations whose component subtree
+ * forms an own event scope.
+ * <P>
+ * The scope of a {@link Presenter} is the nearest @{@link Scoped} {@link View}
+ * in the component hierarchy of its {@link View}, including its {@link View}
+ * itself. {@link Presenter}s that are not contained by any @{@link Scoped}
+ * {@link View} share the global scope.
+ * <P>
+ * {@link BusEvent}s dispatched using
+ * {@link EventBusSubscriber#dispatch(BusEvent)} still reach every subscriber,
+ * while events dispatched using
+ * {@link EventBusSubscriber#dispatchScoped(BusEvent, boolean)} only reach the
+ * subscribers in the dispatcher's scope and, on request, the scopes nested into
+ * it.
+ * <P>
+ * NOTE: The scope of a {@link Presenter} is determined on the first scoped
+ * dispatch after its {@link View} has been attached to the UI; moving the
+ * {@link View} to a different parent afterwards will not change its scope.
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface Scoped {
+
+}
@@ -8,11 +8,16 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.concurrent.Executor;
 
 import com.mantledillusion.injection.hura.annotation.Validated;
+import com.mantledillusion.vaadin.cotton.CottonServlet;
 import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
 import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.Sticky;
+import com.mantledillusion.vaadin.cotton.Vetoable;
 import com.mantledillusion.vaadin.cotton.viewpresenter.Presenter.SubscribeValidator;
+import com.vaadin.ui.Component;
 
 /**
  * {@link Annotation} for {@link Method}s of {@link EventBusSubscriber}
@@ -92,4 +97,57 @@ public @interface Subscribe {
 	 *         without being a parameter; never null, empty by default
 	 */
 	Class<? extends BusEvent>[] anonymousEvents() default {};
+
+	/**
+	 * Determines the order in which the annotated {@link Method} receives events in
+	 * relation to other subscribing {@link Method}s; {@link Method}s with a higher
+	 * priority receive an event first.
+	 * <p>
+	 * {@link Method}s of equal priority receive an event in the order their
+	 * {@link EventBusSubscriber}s have been subscribed in; the order of
+	 * {@link Method}s of equal priority of the same {@link EventBusSubscriber} is
+	 * undefined.
+	 * <p>
+	 * For {@link Vetoable} events, the event is not delivered to further
+	 * {@link Method}s once one has declined it; so {@link Method}s doing cheap
+	 * checks should have a higher priority than {@link Method}s doing expensive
+	 * ones.
+	 * 
+	 * @return The priority of the annotated {@link Method}; 0 by default
+	 */
+	int priority() default 0;
+
+	/**
+	 * Determines whether the annotated {@link Method} should receive the last
+	 * instance of a @{@link Sticky} event type that has been dispatched before its
+	 * {@link EventBusSubscriber} was created.
+	 * <p>
+	 * The retained instance is delivered once when the {@link EventBusSubscriber}
+	 * is initialized; for {@link Presenter}s, after their {@link View} has been
+	 * set.
+	 * 
+	 * @return True if the {@link Method} should receive retained events, false
+	 *         otherwise; false by default
+	 */
+	boolean sticky() default false;
+
+	/**
+	 * Determines whether the annotated {@link Method} is executed asynchronously.
+	 * <p>
+	 * An asynchronous {@link Method} is executed by the {@link Executor}
+	 * configured for the {@link CottonServlet} <b>without</b> holding the session
+	 * lock, so slow work such as loading data does not block the UI; how many
+	 * asynchronous {@link Method}s a single UI executes at the same time is
+	 * limited by the {@link CottonServlet}'s configuration. Changes to
+	 * {@link Component}s have to be made using
+	 * {@link EventBusSubscriber#accessUI(Runnable)}; events dispatched by the
+	 * {@link Method} are delivered once the session lock is available.
+	 * <p>
+	 * The dispatch returns without waiting for asynchronous {@link Method}s, so
+	 * they cannot decline {@link Vetoable} events.
+	 * 
+	 * @return True if the {@link Method} should be executed asynchronously, false
+	 *         otherwise; false by default
+	 */
+	boolean async() default false;
 }
\ No newline at end of file
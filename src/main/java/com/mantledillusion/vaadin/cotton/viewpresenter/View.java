@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import com.mantledillusion.injection.hura.PhasedProcessor;
 import com.mantledillusion.injection.hura.Processor;
@@ -68,10 +69,11 @@ public abstract class View extends Composite {
 								+ "s cannot be addressed directly.");
 			}
 
-			WebUtils.checkUrlPattern(annotationInstance.value());
+			WebUtils.checkUrlRoutePattern(annotationInstance.value());
 
 			Set<String> redirects = new HashSet<>();
 			for (Addressed.Redirect redirect : annotationInstance.redirects()) {
+				// REDIRECTS ARE RESOLVED BY THEIR EXACT PATH, SO OTHER THAN ROUTES THEY CANNOT HAVE PARAMETER SEGMENTS
 				WebUtils.checkUrlPattern(redirect.value());
 				if (annotationInstance.value().equals(redirect.value())) {
 					throw new WebException(HttpErrorCodes.HTTP901_ILLEGAL_ARGUMENT_ERROR,
@@ -87,6 +89,36 @@ public abstract class View extends Composite {
 		}
 	}
 
+	// #########################################################################################################################################
+	// ############################################################### PREBUILD ################################################################
+	// #########################################################################################################################################
+
+	static class PrebuildValidator implements AnnotationValidator<Prebuild, Class<?>> {
+
+		@Override
+		public void validate(Prebuild annotationInstance, Class<?> annotatedElement) throws Exception {
+			if (!View.class.isAssignableFrom(annotatedElement)) {
+				throw new WebException(HttpErrorCodes.HTTP904_ILLEGAL_ANNOTATION_USE,
+						"The @" + Prebuild.class.getSimpleName() + " annotation can only be used on "
+								+ View.class.getSimpleName() + " implementations; the type '"
+								+ annotatedElement.getSimpleName() + "' however is not.");
+			}
+
+			for (Class<? extends View> target : annotationInstance.value()) {
+				if (target == null) {
+					throw new WebException(HttpErrorCodes.HTTP904_ILLEGAL_ANNOTATION_USE,
+							"The view '" + annotatedElement.getSimpleName() + "' declares a null view to prebuild.");
+				} else if (!WebUtils.getAddressFrom(target).value().matches(WebUtils.URL_PATH_REGEX)) {
+					throw new WebException(HttpErrorCodes.HTTP904_ILLEGAL_ANNOTATION_USE,
+							"The view '" + annotatedElement.getSimpleName() + "' declares the view '"
+									+ target.getSimpleName() + "' to prebuild, but it is addressed by the route '"
+									+ WebUtils.getAddressFrom(target).value()
+									+ "' containing parameter segments, whose values cannot be known in advance.");
+				}
+			}
+		}
+	}
+
 	// #########################################################################################################################################
 	// ############################################################## RESTRICTED ###############################################################
 	// #########################################################################################################################################
@@ -218,20 +250,21 @@ public abstract class View extends Composite {
 			}
 		}
 
-		void addListener(String componentId, Class<?> eventType, Presenter<?> presenter, Method m) {
-			if (componentId == null) {
-				for (List<AbstractComponent> components : this.activeComponents.values()) {
-					for (AbstractComponent component : components) {
-						component.addListener(eventType, presenter, m);
-					}
+		/**
+		 * Hands every registered component to the given binder once, together with
+		 * the componentId it is registered under.
+		 */
+		void bindComponents(Set<String> requiredComponentIds, BiConsumer<String, AbstractComponent> binder) {
+			for (String componentId : requiredComponentIds) {
+				if (!this.activeComponents.containsKey(componentId)) {
+					throw new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR, "There is no component named '"
+							+ componentId + "' registered in the view " + View.this.getClass().getSimpleName());
 				}
-			} else if (this.activeComponents.containsKey(componentId)) {
-				for (AbstractComponent component : this.activeComponents.get(componentId)) {
-					component.addListener(eventType, presenter, m);
+			}
+			for (Map.Entry<String, List<AbstractComponent>> entry : this.activeComponents.entrySet()) {
+				for (AbstractComponent component : entry.getValue()) {
+					binder.accept(entry.getKey(), component);
 				}
-			} else {
-				throw new WebException(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR, "There is no component named '"
-						+ componentId + "' registered in the view " + getClass().getSimpleName());
 			}
 		}
 	}
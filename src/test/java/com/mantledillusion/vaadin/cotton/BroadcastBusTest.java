@@ -0,0 +1,153 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.PropertiedEvent;
+import com.vaadin.ui.UIDetachedException;
+
+public final class BroadcastBusTest {
+
+	private static final class TestRecipient implements BroadcastBus.Recipient {
+
+		private final List<BusEvent> received = new ArrayList<>();
+		private boolean attached = true;
+		private boolean detachOnDelivery;
+
+		@Override
+		public boolean isAttached() {
+			return this.attached;
+		}
+
+		@Override
+		public void deliverBroadcasts(Runnable delivery) {
+			if (this.detachOnDelivery) {
+				this.attached = false;
+				throw new UIDetachedException();
+			}
+			delivery.run();
+		}
+
+		@Override
+		public void dispatchBroadcast(BusEvent event) {
+			this.received.add(event);
+		}
+	}
+
+	private final List<Runnable> scheduled = new ArrayList<>();
+
+	private void runScheduled() {
+		while (!this.scheduled.isEmpty()) {
+			this.scheduled.remove(0).run();
+		}
+	}
+
+	@Test
+	public void testEventIsDeliveredToAllRecipients() {
+		BroadcastBus bus = new BroadcastBus(this.scheduled::add, 4);
+		TestRecipient first = new TestRecipient();
+		TestRecipient second = new TestRecipient();
+		bus.register(first);
+		bus.register(second);
+
+		PropertiedEvent event = new PropertiedEvent("a");
+		bus.publish(event);
+		runScheduled();
+
+		assertEquals(1, first.received.size());
+		assertSame(event, first.received.get(0));
+		assertEquals(1, second.received.size());
+		assertSame(event, second.received.get(0));
+	}
+
+	@Test
+	public void testMailboxIsDeliveredByOneTask() {
+		BroadcastBus bus = new BroadcastBus(this.scheduled::add, 4);
+		TestRecipient recipient = new TestRecipient();
+		bus.register(recipient);
+
+		for (int i = 0; i < 3; i++) {
+			bus.publish(new PropertiedEvent(String.valueOf(i)));
+		}
+		assertEquals(1, this.scheduled.size());
+
+		runScheduled();
+		assertEquals(3, recipient.received.size());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(String.valueOf(i), recipient.received.get(i).getProperty(PropertiedEvent.SUBSCRIBER_KEY));
+		}
+	}
+
+	@Test
+	public void testFullMailboxDropsEvents() {
+		BroadcastBus bus = new BroadcastBus(this.scheduled::add, 2);
+		TestRecipient recipient = new TestRecipient();
+		bus.register(recipient);
+
+		bus.publish(new PropertiedEvent("a"));
+		bus.publish(new PropertiedEvent("b"));
+		bus.publish(new PropertiedEvent("c"));
+		runScheduled();
+
+		assertEquals(2, recipient.received.size());
+		assertEquals("a", recipient.received.get(0).getProperty(PropertiedEvent.SUBSCRIBER_KEY));
+		assertEquals("b", recipient.received.get(1).getProperty(PropertiedEvent.SUBSCRIBER_KEY));
+
+		// A DRAINED MAILBOX ACCEPTS EVENTS AGAIN
+		bus.publish(new PropertiedEvent("d"));
+		runScheduled();
+		assertEquals(3, recipient.received.size());
+	}
+
+	@Test
+	public void testDetachedRecipientIsUnregistered() {
+		BroadcastBus bus = new BroadcastBus(this.scheduled::add, 4);
+		TestRecipient recipient = new TestRecipient();
+		bus.register(recipient);
+
+		recipient.attached = false;
+		bus.publish(new PropertiedEvent("a"));
+		assertTrue(this.scheduled.isEmpty());
+
+		recipient.attached = true;
+		bus.publish(new PropertiedEvent("b"));
+		assertTrue(this.scheduled.isEmpty());
+		assertTrue(recipient.received.isEmpty());
+	}
+
+	@Test
+	public void testRecipientDetachingBeforeDeliveryIsUnregistered() {
+		BroadcastBus bus = new BroadcastBus(this.scheduled::add, 4);
+		TestRecipient recipient = new TestRecipient();
+		bus.register(recipient);
+
+		recipient.detachOnDelivery = true;
+		bus.publish(new PropertiedEvent("a"));
+		runScheduled();
+
+		recipient.attached = true;
+		recipient.detachOnDelivery = false;
+		bus.publish(new PropertiedEvent("b"));
+		assertTrue(this.scheduled.isEmpty());
+		assertTrue(recipient.received.isEmpty());
+	}
+
+	@Test
+	public void testUnregisteredRecipientReceivesNothing() {
+		BroadcastBus bus = new BroadcastBus(this.scheduled::add, 4);
+		TestRecipient recipient = new TestRecipient();
+		bus.register(recipient);
+		bus.unregister(recipient);
+
+		bus.publish(new PropertiedEvent("a"));
+		runScheduled();
+		assertTrue(recipient.received.isEmpty());
+	}
+}
@@ -0,0 +1,60 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.exception.WebException;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.FrozenPropertiedEvent;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.PropertiedEvent;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.UniversalEvent;
+
+public final class BusEventPropertiesTest {
+
+	@Test
+	public void testPropertylessEvent() {
+		UniversalEvent event = new UniversalEvent();
+		assertFalse(event.hasProperty(PropertiedEvent.SUBSCRIBER_KEY));
+		assertFalse(event.equalProperty(PropertiedEvent.SUBSCRIBER_KEY, null));
+		assertTrue(event.equalProperties(null));
+	}
+
+	@Test
+	public void testPropertiesAreMatchedByValue() {
+		// A KEY THAT IS NOT INTERNED HAS TO BE FOUND AS WELL
+		String key = new String(PropertiedEvent.SUBSCRIBER_KEY);
+		PropertiedEvent event = new PropertiedEvent("a");
+		assertTrue(event.hasProperty(key));
+		assertTrue(event.equalProperty(key, "a"));
+		assertFalse(event.equalProperty(key, "b"));
+		assertFalse(event.equalProperty(key, null));
+	}
+
+	@Test
+	public void testFrozenProperties() {
+		BusEvent event = new FrozenPropertiedEvent("a", null);
+		assertEquals(2, event.getPropertyCount());
+		assertEquals("a", event.getProperty(FrozenPropertiedEvent.FIRST_KEY));
+		assertTrue(event.hasProperty(FrozenPropertiedEvent.SECOND_KEY));
+		assertNull(event.getProperty(FrozenPropertiedEvent.SECOND_KEY));
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put(FrozenPropertiedEvent.FIRST_KEY, "a");
+		properties.put(FrozenPropertiedEvent.SECOND_KEY, null);
+		assertTrue(event.equalProperties(properties));
+		properties.put(FrozenPropertiedEvent.SECOND_KEY, "b");
+		assertFalse(event.equalProperties(properties));
+	}
+
+	@Test(expected = WebException.class)
+	public void testFrozenPropertiesCannotBeChanged() {
+		new FrozenPropertiedEvent("a", "b").tryToAddProperty();
+	}
+}
@@ -0,0 +1,40 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public final class CottonUILocalizationTest {
+
+	private final Map<String, LocalizationResource> registry = new HashMap<>();
+
+	@Before
+	public void setup() {
+		this.registry.put(Locale.GERMAN.getISO3Language(), new LocalizationResource(Locale.GERMAN));
+	}
+
+	@Test
+	public void testTwoLetterLanguageFindsItsLocalization() {
+		assertEquals("deu", CottonUI.toISO3Language("de"));
+		assertTrue(this.registry.containsKey(CottonUI.toISO3Language("de")));
+	}
+
+	@Test
+	public void testThreeLetterLanguageIsKept() {
+		assertEquals("deu", CottonUI.toISO3Language("deu"));
+		assertTrue(this.registry.containsKey(CottonUI.toISO3Language("deu")));
+	}
+
+	@Test
+	public void testUnknownLanguageIsNotAvailable() {
+		assertEquals("xx", CottonUI.toISO3Language("xx"));
+		assertFalse(this.registry.containsKey(CottonUI.toISO3Language("xx")));
+	}
+}
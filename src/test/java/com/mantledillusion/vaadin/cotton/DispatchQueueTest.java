@@ -0,0 +1,212 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.mantledillusion.injection.hura.Injector;
+import com.mantledillusion.injection.hura.Predefinable.Singleton;
+import com.mantledillusion.vaadin.cotton.exception.WebException;
+import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.QueueingSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.PropertiedEvent;
+
+public final class DispatchQueueTest {
+
+	private final List<Runnable> scheduled = Collections.synchronizedList(new ArrayList<>());
+
+	private QueueingSubscriber setup(EventBus bus) {
+		return Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus))
+				.instantiate(QueueingSubscriber.class);
+	}
+
+	private void runScheduled() {
+		while (!this.scheduled.isEmpty()) {
+			this.scheduled.remove(0).run();
+		}
+	}
+
+	@Test
+	public void testBurstIsDeliveredInOneBatch() {
+		EventBus bus = new EventBus();
+		DispatchQueue queue = new DispatchQueue(bus, null, this.scheduled::add, 1000, QueueOverflowPolicy.DROP_OLDEST,
+				null);
+		QueueingSubscriber subscriber = setup(bus);
+
+		for (int i = 0; i < 500; i++) {
+			queue.enqueue(new PropertiedEvent(String.valueOf(i)), null);
+		}
+		assertEquals(1, this.scheduled.size());
+		assertTrue(subscriber.getReceived().isEmpty());
+
+		runScheduled();
+		assertEquals(500, subscriber.getReceived().size());
+	}
+
+	@Test
+	public void testDropOldestWhenFull() {
+		EventBus bus = new EventBus();
+		DispatchQueue queue = new DispatchQueue(bus, null, this.scheduled::add, 2, QueueOverflowPolicy.DROP_OLDEST,
+				null);
+		QueueingSubscriber subscriber = setup(bus);
+
+		PropertiedEvent second = new PropertiedEvent("b");
+		PropertiedEvent third = new PropertiedEvent("c");
+		queue.enqueue(new PropertiedEvent("a"), null);
+		queue.enqueue(second, null);
+		queue.enqueue(third, null);
+
+		runScheduled();
+		assertEquals(2, subscriber.getReceived().size());
+		assertSame(second, subscriber.getReceived().get(0));
+		assertSame(third, subscriber.getReceived().get(1));
+	}
+
+	@Test
+	public void testKeepLatestPerKey() {
+		EventBus bus = new EventBus();
+		DispatchQueue queue = new DispatchQueue(bus, null, this.scheduled::add, 2,
+				QueueOverflowPolicy.KEEP_LATEST_PER_KEY, PropertiedEvent.SUBSCRIBER_KEY);
+		QueueingSubscriber subscriber = setup(bus);
+
+		PropertiedEvent latestA = new PropertiedEvent("a");
+		PropertiedEvent latestB = new PropertiedEvent("b");
+		queue.enqueue(new PropertiedEvent("a"), null);
+		queue.enqueue(new PropertiedEvent("b"), null);
+		queue.enqueue(latestA, null);
+		queue.enqueue(latestB, null);
+
+		runScheduled();
+		assertEquals(2, subscriber.getReceived().size());
+		assertSame(latestA, subscriber.getReceived().get(0));
+		assertSame(latestB, subscriber.getReceived().get(1));
+	}
+
+	private Thread enqueueInBackground(DispatchQueue queue, PropertiedEvent event, AtomicReference<Throwable> error) {
+		Thread thread = new Thread(() -> {
+			try {
+				queue.enqueue(event, null);
+			} catch (Throwable t) {
+				error.set(t);
+			}
+		});
+		thread.start();
+		return thread;
+	}
+
+	private static void awaitBlocked(Thread thread) throws InterruptedException {
+		while (thread.getState() != Thread.State.TIMED_WAITING && thread.isAlive()) {
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void testBlockWaitsUntilDrained() throws InterruptedException {
+		EventBus bus = new EventBus();
+		DispatchQueue queue = new DispatchQueue(bus, null, this.scheduled::add, 1, QueueOverflowPolicy.BLOCK, null);
+		QueueingSubscriber subscriber = setup(bus);
+
+		PropertiedEvent first = new PropertiedEvent("a");
+		PropertiedEvent second = new PropertiedEvent("b");
+		queue.enqueue(first, null);
+
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Thread blocked = enqueueInBackground(queue, second, error);
+		awaitBlocked(blocked);
+		assertTrue(blocked.isAlive());
+
+		runScheduled();
+		blocked.join(5000);
+		assertFalse(blocked.isAlive());
+		assertNull(error.get());
+
+		runScheduled();
+		assertEquals(2, subscriber.getReceived().size());
+		assertSame(first, subscriber.getReceived().get(0));
+		assertSame(second, subscriber.getReceived().get(1));
+	}
+
+	@Test
+	public void testBlockIsReleasedWhenClosed() throws InterruptedException {
+		EventBus bus = new EventBus();
+		DispatchQueue queue = new DispatchQueue(bus, null, this.scheduled::add, 1, QueueOverflowPolicy.BLOCK, null);
+		QueueingSubscriber subscriber = setup(bus);
+
+		queue.enqueue(new PropertiedEvent("a"), null);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Thread blocked = enqueueInBackground(queue, new PropertiedEvent("b"), error);
+		awaitBlocked(blocked);
+
+		queue.close();
+		blocked.join(5000);
+		assertFalse(blocked.isAlive());
+		assertTrue(error.get() instanceof WebException);
+		assertEquals(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR, ((WebException) error.get()).getErrorCode());
+
+		runScheduled();
+		assertTrue(subscriber.getReceived().isEmpty());
+	}
+
+	@Test
+	public void testBlockTimesOut() {
+		EventBus bus = new EventBus();
+		DispatchQueue queue = new DispatchQueue(bus, null, this.scheduled::add, 1, QueueOverflowPolicy.BLOCK, null,
+				50);
+		setup(bus);
+
+		queue.enqueue(new PropertiedEvent("a"), null);
+		try {
+			queue.enqueue(new PropertiedEvent("b"), null);
+		} catch (WebException e) {
+			assertEquals(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR, e.getErrorCode());
+			return;
+		}
+		throw new AssertionError("The blocked enqueue did not time out.");
+	}
+
+	@Test
+	public void testBlockIsInterruptible() throws InterruptedException {
+		EventBus bus = new EventBus();
+		DispatchQueue queue = new DispatchQueue(bus, null, this.scheduled::add, 1, QueueOverflowPolicy.BLOCK, null);
+		setup(bus);
+
+		queue.enqueue(new PropertiedEvent("a"), null);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Thread blocked = enqueueInBackground(queue, new PropertiedEvent("b"), error);
+		awaitBlocked(blocked);
+
+		blocked.interrupt();
+		blocked.join(5000);
+		assertFalse(blocked.isAlive());
+		assertTrue(error.get() instanceof WebException);
+	}
+
+	@Test
+	public void testFailingBatchDoesNotStopDelivery() {
+		EventBus bus = new EventBus();
+		DispatchQueue queue = new DispatchQueue(bus, null, this.scheduled::add, 10, QueueOverflowPolicy.DROP_OLDEST,
+				null);
+		QueueingSubscriber subscriber = setup(bus);
+
+		queue.enqueue(new PropertiedEvent(QueueingSubscriber.FAILING_VALUE), null);
+		try {
+			runScheduled();
+		} catch (WebException e) {
+			// EXPECTED
+		}
+
+		queue.enqueue(new PropertiedEvent("a"), null);
+		assertEquals(1, this.scheduled.size());
+		runScheduled();
+		assertEquals(2, subscriber.getReceived().size());
+	}
+}
@@ -0,0 +1,175 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+import com.mantledillusion.injection.hura.Injector;
+import com.mantledillusion.injection.hura.Predefinable.Singleton;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.AsyncSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.QueueingSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.PropertiedEvent;
+
+public final class EventBusAsyncDispatchTest {
+
+	private final List<Runnable> scheduled = new ArrayList<>();
+
+	private QueueingSubscriber setup(EventBus bus) {
+		return Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus))
+				.instantiate(QueueingSubscriber.class);
+	}
+
+	private AsyncSubscriber setupAsync(EventBus bus) {
+		return Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus))
+				.instantiate(AsyncSubscriber.class);
+	}
+
+	private void runScheduled() {
+		while (!this.scheduled.isEmpty()) {
+			this.scheduled.remove(0).run();
+		}
+	}
+
+	@Test
+	public void testDeferredDispatchesAreDeliveredInOrder() throws Exception {
+		EventBus bus = new EventBus(this.scheduled::add);
+		QueueingSubscriber subscriber = setup(bus);
+
+		List<PropertiedEvent> events = new ArrayList<>();
+		List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			PropertiedEvent event = new PropertiedEvent(String.valueOf(i));
+			events.add(event);
+			futures.add(bus.dispatchAsync(event, null));
+		}
+
+		// ALL PENDING DISPATCHES ARE HANDED OVER BY A SINGLE TASK
+		assertEquals(1, this.scheduled.size());
+		assertTrue(subscriber.getReceived().isEmpty());
+
+		runScheduled();
+		assertEquals(events, subscriber.getReceived());
+		for (CompletableFuture<Boolean> future : futures) {
+			assertTrue(future.get());
+		}
+	}
+
+	@Test
+	public void testDispatchesDuringDeliveryAreDeliveredAfterwards() {
+		EventBus bus = new EventBus(this.scheduled::add);
+		QueueingSubscriber subscriber = setup(bus);
+
+		PropertiedEvent first = new PropertiedEvent("a");
+		PropertiedEvent second = new PropertiedEvent("b");
+		bus.dispatchAsync(first, null);
+		this.scheduled.remove(0).run();
+		bus.dispatchAsync(second, null);
+		runScheduled();
+
+		assertEquals(2, subscriber.getReceived().size());
+		assertSame(first, subscriber.getReceived().get(0));
+		assertSame(second, subscriber.getReceived().get(1));
+	}
+
+	@Test
+	public void testRejectedDispatchFails() {
+		EventBus bus = new EventBus(runnable -> {
+			throw new RejectedExecutionException();
+		});
+		setup(bus);
+
+		CompletableFuture<Boolean> future = bus.dispatchAsync(new PropertiedEvent("a"), null);
+		assertTrue(future.isCompletedExceptionally());
+	}
+
+	@Test
+	public void testClosingFailsPendingDispatches() {
+		EventBus bus = new EventBus(this.scheduled::add);
+		QueueingSubscriber subscriber = setup(bus);
+
+		CompletableFuture<Boolean> pending = bus.dispatchAsync(new PropertiedEvent("a"), null);
+		bus.close();
+		assertTrue(pending.isCompletedExceptionally());
+
+		runScheduled();
+		assertTrue(subscriber.getReceived().isEmpty());
+
+		CompletableFuture<Boolean> late = bus.dispatchAsync(new PropertiedEvent("b"), null);
+		assertTrue(late.isCompletedExceptionally());
+		assertFalse(late.isCancelled());
+	}
+
+	@Test
+	public void testAsyncSubscribersRunOnTheExecutor() {
+		EventBus bus = new EventBus(this.scheduled::add);
+		AsyncSubscriber asyncSubscriber = setupAsync(bus);
+		QueueingSubscriber subscriber = setup(bus);
+
+		PropertiedEvent event = new PropertiedEvent("a");
+		assertTrue(bus.dispatch(event, null));
+
+		// THE DISPATCH DOES NOT WAIT FOR THE ASYNCHRONOUS SUBSCRIBER
+		assertEquals(1, subscriber.getReceived().size());
+		assertTrue(asyncSubscriber.getReceived().isEmpty());
+		assertEquals(1, this.scheduled.size());
+
+		runScheduled();
+		assertEquals(1, asyncSubscriber.getReceived().size());
+		assertSame(event, asyncSubscriber.getApplied().get(0));
+	}
+
+	@Test
+	public void testAsyncSubscribersAreLimitedPerBus() {
+		EventBus bus = new EventBus(this.scheduled::add, 2);
+		AsyncSubscriber subscriber = setupAsync(bus);
+
+		List<PropertiedEvent> events = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			PropertiedEvent event = new PropertiedEvent(String.valueOf(i));
+			events.add(event);
+			bus.dispatch(event, null);
+		}
+		assertEquals(2, this.scheduled.size());
+
+		// EVERY FINISHING DELIVERY STARTS THE NEXT PENDING ONE
+		this.scheduled.remove(0).run();
+		assertEquals(2, this.scheduled.size());
+
+		runScheduled();
+		assertEquals(events, subscriber.getReceived());
+	}
+
+	@Test
+	public void testFailingAsyncSubscriberReleasesItsSlot() {
+		EventBus bus = new EventBus(this.scheduled::add, 1);
+		AsyncSubscriber subscriber = setupAsync(bus);
+
+		bus.dispatch(new PropertiedEvent(AsyncSubscriber.FAILING_VALUE), null);
+		bus.dispatch(new PropertiedEvent("a"), null);
+		runScheduled();
+
+		assertEquals(2, subscriber.getReceived().size());
+		assertEquals(1, subscriber.getApplied().size());
+	}
+
+	@Test
+	public void testClosingDiscardsPendingAsyncDeliveries() {
+		EventBus bus = new EventBus(this.scheduled::add, 1);
+		AsyncSubscriber subscriber = setupAsync(bus);
+
+		bus.dispatch(new PropertiedEvent("a"), null);
+		bus.dispatch(new PropertiedEvent("b"), null);
+		bus.close();
+		runScheduled();
+
+		assertTrue(subscriber.getReceived().isEmpty());
+	}
+}
@@ -0,0 +1,81 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mantledillusion.injection.hura.Injector;
+import com.mantledillusion.injection.hura.Predefinable.Singleton;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.CountingSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.CountingView;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.ConcurrencyEvent;
+
+public final class EventBusConcurrencyTest {
+
+	private static final int DISPATCHING_THREADS = 4;
+	private static final int VIEW_CHURNING_THREADS = 4;
+	private static final int ITERATIONS = 500;
+
+	private EventBus bus;
+	private ExecutorService executor;
+
+	@Before
+	public void setup() {
+		this.bus = new EventBus();
+		this.executor = Executors.newFixedThreadPool(DISPATCHING_THREADS + VIEW_CHURNING_THREADS);
+	}
+
+	@After
+	public void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	public void testConcurrentDispatchingWhileViewsAreInstantiatedAndDestroyed() throws Exception {
+		Injector injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, this.bus));
+		CountingSubscriber subscriber = injector.instantiate(CountingSubscriber.class);
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Void>> futures = new ArrayList<>();
+		for (int i = 0; i < DISPATCHING_THREADS; i++) {
+			futures.add(this.executor.submit(() -> {
+				start.await();
+				for (int j = 0; j < ITERATIONS; j++) {
+					this.bus.dispatch(new ConcurrencyEvent(), null);
+				}
+				return null;
+			}));
+		}
+		for (int i = 0; i < VIEW_CHURNING_THREADS; i++) {
+			futures.add(this.executor.submit(() -> {
+				Injector viewInjector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, this.bus));
+				start.await();
+				for (int j = 0; j < ITERATIONS; j++) {
+					viewInjector.destroy(viewInjector.instantiate(CountingView.class));
+				}
+				return null;
+			}));
+		}
+
+		start.countDown();
+		for (Future<Void> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+
+		assertEquals(DISPATCHING_THREADS * ITERATIONS, subscriber.getReceived());
+
+		injector.destroy(subscriber);
+		assertFalse(this.bus.dispatch(new ConcurrencyEvent(), null));
+	}
+}
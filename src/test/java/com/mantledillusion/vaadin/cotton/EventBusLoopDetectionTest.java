@@ -0,0 +1,63 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.mantledillusion.injection.hura.Injector;
+import com.mantledillusion.injection.hura.Predefinable.Singleton;
+import com.mantledillusion.vaadin.cotton.exception.WebException;
+import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.LoopingSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.RelayingSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.LoopEvent;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.TriggerAEvent;
+
+public final class EventBusLoopDetectionTest {
+
+	@Test
+	public void testRecursiveDispatchingIsStoppedAtMaxDepth() {
+		EventBus bus = new EventBus();
+		Injector injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus));
+		LoopingSubscriber subscriber = injector.instantiate(LoopingSubscriber.class);
+
+		try {
+			bus.dispatch(new LoopEvent(), null);
+			fail("Recursive dispatching was not stopped");
+		} catch (WebException e) {
+			assertEquals(HttpErrorCodes.HTTP508_LOOP_DETECTED, e.getErrorCode());
+			assertTrue(e.getMessage().contains(LoopingSubscriber.class.getName() + ".loop()"));
+		}
+		assertEquals(EventBus.DEFAULT_MAX_DISPATCH_DEPTH, subscriber.getReceived());
+
+		// THE CHAIN HAS TO BE RESET AFTER THE CASCADE WAS ABORTED
+		injector.destroy(subscriber);
+		assertFalse(bus.dispatch(new LoopEvent(), null));
+	}
+
+	@Test
+	public void testCascadeOfOtherBusDoesNotCountAgainstDepth() {
+		EventBus relayingBus = new EventBus();
+		RelayingSubscriber relaying = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, relayingBus))
+				.instantiate(RelayingSubscriber.class);
+		EventBus loopingBus = new EventBus();
+		LoopingSubscriber looping = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, loopingBus))
+				.instantiate(LoopingSubscriber.class);
+
+		// THE LOOPING BUS IS ENTERED WHILE THE RELAYING BUS' CHAIN IS ACTIVE ON THE SAME THREAD
+		relaying.setRelay(() -> {
+			try {
+				loopingBus.dispatch(new LoopEvent(), null);
+				fail("Recursive dispatching was not stopped");
+			} catch (WebException e) {
+				assertEquals(HttpErrorCodes.HTTP508_LOOP_DETECTED, e.getErrorCode());
+			}
+		});
+		relayingBus.dispatch(new TriggerAEvent(), null);
+
+		assertEquals(EventBus.DEFAULT_MAX_DISPATCH_DEPTH, looping.getReceived());
+	}
+}
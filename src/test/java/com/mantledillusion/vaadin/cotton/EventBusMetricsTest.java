@@ -0,0 +1,102 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mantledillusion.injection.hura.Injector;
+import com.mantledillusion.injection.hura.Predefinable.Singleton;
+import com.mantledillusion.vaadin.cotton.RecordingEventBusMetrics.DispatchStatistics;
+import com.mantledillusion.vaadin.cotton.RecordingEventBusMetrics.LatencyHistogram;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.CascadingSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.FilteringSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.FilteredEvent;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.LoopEvent;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.UniversalEvent;
+
+public final class EventBusMetricsTest {
+
+	private RecordingEventBusMetrics metrics;
+	private EventBus bus;
+	private Injector injector;
+
+	@Before
+	public void before() {
+		this.metrics = new RecordingEventBusMetrics();
+		this.bus = new EventBus(Runnable::run, this.metrics);
+		this.injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, this.bus));
+	}
+
+	@Test
+	public void testDispatchedCountsReachedAndFilteredSubscribers() {
+		this.injector.instantiate(FilteringSubscriber.class);
+
+		this.bus.dispatch(new FilteredEvent(FilteredEvent.FIRST_KEY, "a"), null);
+		this.bus.dispatch(new FilteredEvent(FilteredEvent.FIRST_KEY, "a", FilteredEvent.SECOND_KEY, "b"), null);
+
+		DispatchStatistics statistics = this.metrics.getDispatchStatistics().get(FilteredEvent.class);
+		assertEquals(2, statistics.getDispatches());
+		assertEquals(2 + 4, statistics.getReached());
+		assertEquals(2 + 0, statistics.getFiltered());
+		assertEquals(0, statistics.getCascades());
+	}
+
+	@Test
+	public void testDeliveredRecordsLatencyPerMethod() throws NoSuchMethodException {
+		this.injector.instantiate(FilteringSubscriber.class);
+
+		this.bus.dispatch(new FilteredEvent(FilteredEvent.FIRST_KEY, "a"), null);
+
+		Method receiveAll = FilteringSubscriber.class.getDeclaredMethod("receiveAll", FilteredEvent.class);
+		Method receiveSecond = FilteringSubscriber.class.getDeclaredMethod("receiveSecond", FilteredEvent.class);
+		LatencyHistogram histogram = this.metrics.getLatencyHistograms().get(receiveAll);
+		assertEquals(1, histogram.getTotalCount());
+		assertTrue(histogram.getTotalNanos() >= 0);
+		assertNull(this.metrics.getLatencyHistograms().get(receiveSecond));
+	}
+
+	@Test
+	public void testCascadedCountsNestedDispatches() {
+		CascadingSubscriber subscriber = this.injector.instantiate(CascadingSubscriber.class);
+
+		this.bus.dispatch(new LoopEvent(), null);
+		assertEquals(2, subscriber.getReceived());
+
+		DispatchStatistics statistics = this.metrics.getDispatchStatistics().get(LoopEvent.class);
+		assertEquals(1, statistics.getDispatches());
+		assertEquals(1, statistics.getCascades());
+		assertEquals(2, statistics.getNestedDispatches());
+
+		// NESTED DISPATCHES ARE REPORTED AS DISPATCHES OF THEIR OWN, BUT NOT AS CASCADES
+		DispatchStatistics nested = this.metrics.getDispatchStatistics().get(UniversalEvent.class);
+		assertEquals(2, nested.getDispatches());
+		assertEquals(0, nested.getCascades());
+
+		this.bus.dispatch(new UniversalEvent(), null);
+		assertEquals(1, statistics.getCascades());
+		assertEquals(3, nested.getDispatches());
+	}
+
+	@Test
+	public void testHistogramBuckets() throws NoSuchMethodException {
+		RecordingEventBusMetrics metrics = new RecordingEventBusMetrics();
+		Method method = Object.class.getMethod("toString");
+		metrics.delivered(UniversalEvent.class, CascadingSubscriber.class, method, 500);
+		metrics.delivered(UniversalEvent.class, CascadingSubscriber.class, method, 3_000);
+		metrics.delivered(UniversalEvent.class, CascadingSubscriber.class, method, Long.MAX_VALUE);
+
+		LatencyHistogram histogram = metrics.getLatencyHistograms().get(method);
+		assertEquals(3, histogram.getTotalCount());
+		// BELOW 1 MICROSECOND, 2-4 MICROSECONDS AND THE OVERFLOW BUCKET
+		assertEquals(1, histogram.getCount(0));
+		assertEquals(1, histogram.getCount(2));
+		assertEquals(1, histogram.getCount(LatencyHistogram.BUCKET_COUNT - 1));
+		assertFalse(metrics.getDispatchStatistics().containsKey(UniversalEvent.class));
+	}
+}
@@ -0,0 +1,77 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mantledillusion.injection.hura.Injector;
+import com.mantledillusion.injection.hura.Predefinable.Singleton;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.FilteringSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.FilteredEvent;
+
+public final class EventBusPropertyIndexTest {
+
+	private EventBus bus;
+	private FilteringSubscriber subscriber;
+
+	@Before
+	public void before() {
+		this.bus = new EventBus();
+		this.subscriber = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, this.bus))
+				.instantiate(FilteringSubscriber.class);
+	}
+
+	private void assertReceived(String... expected) {
+		// EVERY SUBSCRIPTION MAY ONLY BE REACHED ONCE, EVEN IF MULTIPLE INDEXED KEYS MATCH
+		assertEquals(expected.length, this.subscriber.getReceived().size());
+		assertEquals(new HashSet<>(Arrays.asList(expected)), new HashSet<>(this.subscriber.getReceived()));
+	}
+
+	@Test
+	public void testEventMatchingAllIndexedKeys() {
+		this.bus.dispatch(new FilteredEvent(FilteredEvent.FIRST_KEY, "a", FilteredEvent.SECOND_KEY, "b"), null);
+		assertReceived("all", "first", "second", "both");
+	}
+
+	@Test
+	public void testEventWithNonConstantKeys() {
+		// KEYS OF EVENTS ARE NOT INTERNED, SO EQUAL KEYS OF OTHER INSTANCES HAVE TO MATCH AS WELL
+		this.bus.dispatch(new FilteredEvent(new String(FilteredEvent.FIRST_KEY), "a",
+				new String(FilteredEvent.SECOND_KEY), "b"), null);
+		assertReceived("all", "first", "second", "both");
+	}
+
+	@Test
+	public void testMultiKeyFilterRequiresAllKeys() {
+		this.bus.dispatch(new FilteredEvent(FilteredEvent.FIRST_KEY, "a", FilteredEvent.SECOND_KEY, "c"), null);
+		assertReceived("all", "first");
+	}
+
+	@Test
+	public void testEventMatchingNonIndexedKeyOfMultiKeyFilter() {
+		this.bus.dispatch(new FilteredEvent(FilteredEvent.FIRST_KEY, "x", FilteredEvent.SECOND_KEY, "b"), null);
+		assertReceived("all", "second");
+	}
+
+	@Test
+	public void testEventLackingIndexedKey() {
+		this.bus.dispatch(new FilteredEvent(FilteredEvent.SECOND_KEY, "b"), null);
+		assertReceived("all", "second");
+	}
+
+	@Test
+	public void testEventWithoutProperties() {
+		this.bus.dispatch(new FilteredEvent(), null);
+		assertReceived("all");
+	}
+
+	@Test
+	public void testEventWithUnindexedKeyOnly() {
+		this.bus.dispatch(new FilteredEvent("other", "a"), null);
+		assertReceived("all");
+	}
+}
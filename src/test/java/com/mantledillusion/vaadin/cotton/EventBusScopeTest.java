@@ -0,0 +1,148 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mantledillusion.injection.hura.Injector;
+import com.mantledillusion.injection.hura.Predefinable.Singleton;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.FilteringSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.ScopedLayout;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.ScopedSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.FilteredEvent;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.UniversalEvent;
+import com.vaadin.server.VaadinRequest;
+import com.vaadin.ui.Component;
+import com.vaadin.ui.CssLayout;
+import com.vaadin.ui.UI;
+
+public final class EventBusScopeTest {
+
+	private static final class TestUI extends UI {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected void init(VaadinRequest request) {
+		}
+	}
+
+	private EventBus bus;
+	private Injector injector;
+
+	private ScopedLayout outer;
+	private ScopedLayout inner;
+	private ScopedLayout sibling;
+
+	private ScopedSubscriber global;
+	private ScopedSubscriber outerSubscriber;
+	private ScopedSubscriber innerSubscriber;
+	private ScopedSubscriber siblingSubscriber;
+
+	@Before
+	public void before() {
+		this.bus = new EventBus();
+		this.injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, this.bus));
+
+		// UI > ROOT > (OUTER > INNER, SIBLING)
+		CssLayout root = new CssLayout();
+		new TestUI().setContent(root);
+		this.outer = new ScopedLayout();
+		this.inner = new ScopedLayout();
+		this.sibling = new ScopedLayout();
+		root.addComponents(this.outer, this.sibling);
+		this.outer.addComponent(this.inner);
+
+		this.global = subscriberAt(null);
+		this.outerSubscriber = subscriberAt(this.outer);
+		this.innerSubscriber = subscriberAt(this.inner);
+		this.siblingSubscriber = subscriberAt(this.sibling);
+	}
+
+	private ScopedSubscriber subscriberAt(CssLayout parent) {
+		ScopedSubscriber subscriber = this.injector.instantiate(ScopedSubscriber.class);
+		if (parent != null) {
+			Component anchor = new CssLayout();
+			parent.addComponent(anchor);
+			subscriber.setAnchor(anchor);
+		}
+		return subscriber;
+	}
+
+	private void assertReceived(int global, int outer, int inner, int sibling) {
+		assertEquals(global, this.global.getReceived());
+		assertEquals(outer, this.outerSubscriber.getReceived());
+		assertEquals(inner, this.innerSubscriber.getReceived());
+		assertEquals(sibling, this.siblingSubscriber.getReceived());
+	}
+
+	@Test
+	public void testScopedDispatchReachesOwnScopeOnly() {
+		assertTrue(this.outerSubscriber.dispatchInScope(new UniversalEvent(), false));
+		assertReceived(0, 1, 0, 0);
+
+		assertTrue(this.innerSubscriber.dispatchInScope(new UniversalEvent(), false));
+		assertReceived(0, 1, 1, 0);
+	}
+
+	@Test
+	public void testScopedDispatchIncludingNestedScopes() {
+		assertTrue(this.outerSubscriber.dispatchInScope(new UniversalEvent(), true));
+		assertReceived(0, 1, 1, 0);
+	}
+
+	@Test
+	public void testGlobalScopedDispatch() {
+		assertTrue(this.global.dispatchInScope(new UniversalEvent(), false));
+		assertReceived(1, 0, 0, 0);
+
+		assertTrue(this.global.dispatchInScope(new UniversalEvent(), true));
+		assertReceived(2, 1, 1, 1);
+	}
+
+	@Test
+	public void testScopedDispatchReturnsWhetherScopeHasSubscriptions() {
+		this.injector.instantiate(FilteringSubscriber.class);
+
+		// THE GLOBAL FILTERING SUBSCRIBER IS NOT IN THE SCOPE
+		assertTrue(this.bus.dispatch(new FilteredEvent(), null));
+		assertFalse(this.outerSubscriber.dispatchInScope(new FilteredEvent(), false));
+		assertTrue(this.global.dispatchInScope(new FilteredEvent(), false));
+
+		// JUST LIKE UNSCOPED DISPATCHES, NOT MATCHING PROPERTY FILTERS DOES NOT MATTER
+		assertTrue(this.global.dispatchInScope(new FilteredEvent(FilteredEvent.FIRST_KEY, "x"), false));
+	}
+
+	@Test
+	public void testScopeOfDetachedHierarchyIsResolvedAgainOnceAttached() {
+		ScopedLayout detached = new ScopedLayout();
+		ScopedSubscriber detachedSubscriber = subscriberAt(detached);
+
+		this.outerSubscriber.dispatchInScope(new UniversalEvent(), true);
+		assertEquals(0, detachedSubscriber.getReceived());
+
+		this.outer.addComponent(detached);
+		this.outerSubscriber.dispatchInScope(new UniversalEvent(), true);
+		assertEquals(1, detachedSubscriber.getReceived());
+		this.outerSubscriber.dispatchInScope(new UniversalEvent(), false);
+		assertEquals(1, detachedSubscriber.getReceived());
+	}
+
+	@Test
+	public void testScopeOfSubscriberAnchoredLater() {
+		ScopedSubscriber lateSubscriber = subscriberAt(null);
+		this.global.dispatchInScope(new UniversalEvent(), false);
+		assertEquals(1, lateSubscriber.getReceived());
+
+		Component anchor = new CssLayout();
+		this.inner.addComponent(anchor);
+		lateSubscriber.setAnchor(anchor);
+		this.global.dispatchInScope(new UniversalEvent(), false);
+		assertEquals(1, lateSubscriber.getReceived());
+		this.innerSubscriber.dispatchInScope(new UniversalEvent(), false);
+		assertEquals(2, lateSubscriber.getReceived());
+	}
+}
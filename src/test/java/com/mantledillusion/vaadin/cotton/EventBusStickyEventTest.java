@@ -0,0 +1,153 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.mantledillusion.injection.hura.Injector;
+import com.mantledillusion.injection.hura.Predefinable.Singleton;
+import com.mantledillusion.vaadin.cotton.environment.events.navigation.NavigationEvent;
+import com.mantledillusion.vaadin.cotton.environment.events.navigation.NavigationInitiator;
+import com.mantledillusion.vaadin.cotton.environment.events.navigation.NavigationType;
+import com.mantledillusion.vaadin.cotton.environment.events.user.UserChangeEvent;
+import com.mantledillusion.vaadin.cotton.environment.events.user.UserChangeType;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.EnvironmentSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.StickyDispatcher;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.StickySubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.StickyEvent;
+
+public final class EventBusStickyEventTest {
+
+	@Test
+	public void testLateSubscriberReceivesLastStickyEvent() {
+		EventBus bus = new EventBus();
+		Injector injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus));
+
+		StickyEvent first = new StickyEvent();
+		StickyEvent last = new StickyEvent();
+		bus.dispatch(first, null);
+		bus.dispatch(last, null);
+
+		StickySubscriber subscriber = injector.instantiate(StickySubscriber.class);
+		assertEquals(1, subscriber.getReceived().size());
+		assertSame(last, subscriber.getReceived().get(0));
+
+		bus.dispatch(new StickyEvent(), null);
+		assertEquals(2, subscriber.getReceived().size());
+	}
+
+	@Test
+	public void testRetainedNavigationEventReplacesPreviousOneForNewSubscribers() {
+		EventBus bus = new EventBus();
+		Injector injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus));
+
+		bus.dispatch(new NavigationEvent(NavigationType.SEGMENT_CHANGE, NavigationInitiator.SERVER), null);
+		EnvironmentSubscriber existing = injector.instantiate(EnvironmentSubscriber.class);
+
+		// THE WAY CottonUI NAVIGATES: RETAIN, BUILD THE VIEW, DISPATCH
+		NavigationEvent current = new NavigationEvent(NavigationType.SEGMENT_CHANGE, NavigationInitiator.BROWSER);
+		bus.retain(current);
+		EnvironmentSubscriber created = injector.instantiate(EnvironmentSubscriber.class);
+		assertEquals(1, created.getReceived().size());
+		assertSame(current, created.getReceived().get(0));
+
+		bus.dispatch(current, null);
+		assertEquals(1, created.getReceived().size());
+		assertEquals(2, existing.getReceived().size());
+		assertSame(current, existing.getReceived().get(1));
+	}
+
+	@Test
+	public void testRetainedUserChangeEventIsDeliveredOnceToViewsOfARefresh() {
+		EventBus bus = new EventBus();
+		Injector injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus));
+
+		bus.dispatch(new UserChangeEvent(UserChangeType.LOGOUT), null);
+
+		UserChangeEvent login = new UserChangeEvent(UserChangeType.LOGIN);
+		bus.retain(login);
+		NavigationEvent refresh = new NavigationEvent(NavigationType.REFRESH, NavigationInitiator.SERVER);
+		bus.retain(refresh);
+		EnvironmentSubscriber created = injector.instantiate(EnvironmentSubscriber.class);
+		bus.dispatch(refresh, null);
+		bus.dispatch(login, null);
+
+		assertEquals(2, created.getReceived().size());
+		assertTrue(created.getReceived().contains(login));
+		assertTrue(created.getReceived().contains(refresh));
+	}
+
+	@Test
+	public void testSubscriberCapturedWhileSuspendedReceivesStickyEventOnResume() {
+		EventBus bus = new EventBus();
+		Injector injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus));
+
+		bus.dispatch(new StickyEvent(), null);
+		EventBus.SubscriberGroup group = new EventBus.SubscriberGroup();
+		group.suspend();
+		StickySubscriber subscriber = bus.capture(group, () -> injector.instantiate(StickySubscriber.class));
+		assertEquals(0, subscriber.getReceived().size());
+
+		StickyEvent last = new StickyEvent();
+		bus.dispatch(last, null);
+		assertEquals(0, subscriber.getReceived().size());
+
+		group.resume();
+		assertEquals(1, subscriber.getReceived().size());
+		assertSame(last, subscriber.getReceived().get(0));
+	}
+
+	@Test
+	public void testResumedSubscriberOnlyReceivesStickyEventsMissedWhileSuspended() {
+		EventBus bus = new EventBus();
+		Injector injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus));
+
+		EventBus.SubscriberGroup group = new EventBus.SubscriberGroup();
+		StickySubscriber subscriber = bus.capture(group, () -> injector.instantiate(StickySubscriber.class));
+		bus.dispatch(new StickyEvent(), null);
+		assertEquals(1, subscriber.getReceived().size());
+
+		group.suspend();
+		group.resume();
+		assertEquals(1, subscriber.getReceived().size());
+
+		group.suspend();
+		StickyEvent missed = new StickyEvent();
+		bus.dispatch(missed, null);
+		group.resume();
+		assertEquals(2, subscriber.getReceived().size());
+		assertSame(missed, subscriber.getReceived().get(1));
+	}
+
+	@Test
+	public void testSelfDispatchedStickyEventIsNotReplayedToDispatcher() {
+		EventBus bus = new EventBus();
+		Injector injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus));
+
+		EventBus.SubscriberGroup group = new EventBus.SubscriberGroup();
+		StickyDispatcher dispatcher = bus.capture(group, () -> injector.instantiate(StickyDispatcher.class));
+		group.suspend();
+		dispatcher.dispatchSticky(new StickyEvent());
+		group.resume();
+		assertEquals(0, dispatcher.getReceived().size());
+
+		StickySubscriber other = injector.instantiate(StickySubscriber.class);
+		assertEquals(1, other.getReceived().size());
+	}
+
+	@Test
+	public void testClearedStickyEventIsNotReplayed() {
+		EventBus bus = new EventBus();
+		Injector injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus));
+
+		bus.dispatch(new StickyEvent(), null);
+		injector.instantiate(StickySubscriber.class).clearSticky();
+		assertEquals(0, injector.instantiate(StickySubscriber.class).getReceived().size());
+
+		bus.dispatch(new StickyEvent(), null);
+		bus.close();
+		assertEquals(0, injector.instantiate(StickySubscriber.class).getReceived().size());
+	}
+}
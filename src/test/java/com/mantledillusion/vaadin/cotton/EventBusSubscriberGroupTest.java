@@ -0,0 +1,51 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.mantledillusion.injection.hura.Injector;
+import com.mantledillusion.injection.hura.Predefinable.Singleton;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.CountingSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.EventDispatcher;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.ConcurrencyEvent;
+
+public final class EventBusSubscriberGroupTest {
+
+	@Test
+	public void testSuspendedGroupReceivesNoEvents() {
+		EventBus bus = new EventBus();
+		Injector injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus));
+
+		EventBus.SubscriberGroup group = new EventBus.SubscriberGroup();
+		CountingSubscriber captured = bus.capture(group, () -> injector.instantiate(CountingSubscriber.class));
+		CountingSubscriber uncaptured = injector.instantiate(CountingSubscriber.class);
+
+		group.suspend();
+		bus.dispatch(new ConcurrencyEvent(), null);
+		assertEquals(0, captured.getReceived());
+		assertEquals(1, uncaptured.getReceived());
+
+		group.resume();
+		bus.dispatch(new ConcurrencyEvent(), null);
+		assertEquals(1, captured.getReceived());
+		assertEquals(2, uncaptured.getReceived());
+	}
+
+	@Test
+	public void testDispatchesWhileCapturingSuspendedGroupAreDeferredUntilResumed() {
+		EventBus bus = new EventBus();
+		Injector injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus));
+		CountingSubscriber displayed = injector.instantiate(CountingSubscriber.class);
+
+		EventBus.SubscriberGroup group = new EventBus.SubscriberGroup();
+		group.suspend();
+		bus.capture(group, () -> injector.instantiate(EventDispatcher.class).dispatch(new ConcurrencyEvent()));
+		assertEquals(0, displayed.getReceived());
+
+		group.resume();
+		assertEquals(1, displayed.getReceived());
+		group.resume();
+		assertEquals(1, displayed.getReceived());
+	}
+}
@@ -0,0 +1,94 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mantledillusion.injection.hura.Injector;
+import com.mantledillusion.injection.hura.Predefinable.Singleton;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.ObservingSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.SpecialObservingSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.VetoingSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.SpecialVetoableEvent;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.VetoableEvent;
+
+public final class EventBusVetoTest {
+
+	private EventBus bus;
+	private Injector injector;
+
+	@Before
+	public void before() {
+		this.bus = new EventBus();
+		this.injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, this.bus));
+	}
+
+	@Test
+	public void testHigherPriorityIsDeliveredFirst() {
+		ObservingSubscriber observer = this.injector.instantiate(ObservingSubscriber.class);
+		VetoingSubscriber vetoer = this.injector.instantiate(VetoingSubscriber.class);
+
+		VetoableEvent event = new VetoableEvent();
+		this.bus.dispatch(event, null);
+
+		assertTrue(event.doAccept());
+		assertEquals(Arrays.asList(vetoer, observer), event.getReceivers());
+	}
+
+	@Test
+	public void testDeclineSkipsLowerPriorities() {
+		ObservingSubscriber observer1 = this.injector.instantiate(ObservingSubscriber.class);
+		VetoingSubscriber vetoer = this.injector.instantiate(VetoingSubscriber.class);
+		ObservingSubscriber observer2 = this.injector.instantiate(ObservingSubscriber.class);
+		vetoer.setDeclining(true);
+
+		VetoableEvent event = new VetoableEvent();
+		this.bus.dispatch(event, null);
+
+		assertFalse(event.doAccept());
+		assertEquals(Arrays.asList(vetoer), event.getReceivers());
+		assertFalse(event.getReceivers().contains(observer1));
+		assertFalse(event.getReceivers().contains(observer2));
+	}
+
+	@Test
+	public void testEqualPrioritiesKeepRegistrationOrder() {
+		ObservingSubscriber observer1 = this.injector.instantiate(ObservingSubscriber.class);
+		ObservingSubscriber observer2 = this.injector.instantiate(ObservingSubscriber.class);
+		ObservingSubscriber observer3 = this.injector.instantiate(ObservingSubscriber.class);
+
+		VetoableEvent event = new VetoableEvent();
+		this.bus.dispatch(event, null);
+
+		assertEquals(Arrays.asList(observer1, observer2, observer3), event.getReceivers());
+	}
+
+	@Test
+	public void testEqualPrioritiesKeepRegistrationOrderAcrossEventTypes() {
+		ObservingSubscriber observer = this.injector.instantiate(ObservingSubscriber.class);
+		SpecialObservingSubscriber specialObserver = this.injector.instantiate(SpecialObservingSubscriber.class);
+
+		VetoableEvent event = new SpecialVetoableEvent();
+		this.bus.dispatch(event, null);
+
+		assertEquals(Arrays.asList(observer, specialObserver), event.getReceivers());
+	}
+
+	@Test
+	public void testDeclineSkipsLaterEqualPriorities() {
+		ObservingSubscriber observer1 = this.injector.instantiate(ObservingSubscriber.class);
+		ObservingSubscriber observer2 = this.injector.instantiate(ObservingSubscriber.class);
+		observer1.setDeclining(true);
+
+		VetoableEvent event = new VetoableEvent();
+		this.bus.dispatch(event, null);
+
+		assertEquals(Arrays.asList(observer1), event.getReceivers());
+		assertFalse(event.getReceivers().contains(observer2));
+	}
+}
@@ -0,0 +1,203 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.exception.WebException;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.DistributedEvent;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.FrozenDistributedEvent;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.PropertiedEvent;
+
+public final class EventTransportTest {
+
+	private static final ClassLoader CLASS_LOADER = EventTransportTest.class.getClassLoader();
+
+	@Test
+	public void testBatchRoundTrip() {
+		List<BusEvent> events = Arrays.asList(new DistributedEvent("a", "node1"), new DistributedEvent("b", null),
+				new DistributedEvent());
+
+		List<BusEvent> decoded = EventCodec.decode(EventCodec.encode(events), CLASS_LOADER);
+
+		assertEquals(3, decoded.size());
+		for (BusEvent event : decoded) {
+			assertSame(DistributedEvent.class, event.getClass());
+		}
+		assertEquals("a", decoded.get(0).getProperty(DistributedEvent.RECORD_KEY));
+		assertEquals("node1", decoded.get(0).getProperty(DistributedEvent.ORIGIN_KEY));
+		assertEquals("b", decoded.get(1).getProperty(DistributedEvent.RECORD_KEY));
+		assertTrue(decoded.get(1).hasProperty(DistributedEvent.ORIGIN_KEY));
+		assertNull(decoded.get(1).getProperty(DistributedEvent.ORIGIN_KEY));
+		assertFalse(decoded.get(2).hasProperties());
+	}
+
+	@Test
+	public void testFrozenPropertiesRoundTrip() {
+		List<BusEvent> decoded = EventCodec.decode(
+				EventCodec.encode(Arrays.asList(new FrozenDistributedEvent("a"))), CLASS_LOADER);
+
+		assertEquals(1, decoded.size());
+		assertSame(FrozenDistributedEvent.class, decoded.get(0).getClass());
+		assertEquals("a", decoded.get(0).getProperty(FrozenDistributedEvent.RECORD_KEY));
+	}
+
+	@Test
+	public void testTypesAreLoadedWithGivenClassLoader() {
+		byte[] batch = EventCodec.encode(Arrays.asList(new DistributedEvent("a", null)));
+		ClassLoader isolated = new ClassLoader(null) {
+		};
+		try {
+			EventCodec.decode(batch, isolated);
+			fail();
+		} catch (WebException e) {
+			assertTrue(e.getCause() instanceof ClassNotFoundException);
+		}
+	}
+
+	@Test(expected = WebException.class)
+	public void testOversizedEventCountIsRejected() {
+		// VERSION 2, FOLLOWED BY A COUNT OF 2^28 EVENTS AND NO EVENT DATA
+		EventCodec.decode(new byte[] { 2, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01 }, CLASS_LOADER);
+	}
+
+	@Test(expected = WebException.class)
+	public void testNegativeEventCountIsRejected() {
+		EventCodec.decode(new byte[] { 2, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F }, CLASS_LOADER);
+	}
+
+	@Test(expected = WebException.class)
+	public void testNegativePropertyCountIsRejected() {
+		byte[] batch = EventCodec.encode(Arrays.asList(new DistributedEvent()));
+		// REPLACE THE TRAILING PROPERTY COUNT OF 0 BY -1
+		byte[] malformed = Arrays.copyOf(batch, batch.length + 4);
+		malformed[batch.length - 1] = (byte) 0xFF;
+		malformed[batch.length] = (byte) 0xFF;
+		malformed[batch.length + 1] = (byte) 0xFF;
+		malformed[batch.length + 2] = (byte) 0xFF;
+		malformed[batch.length + 3] = 0x0F;
+		EventCodec.decode(malformed, CLASS_LOADER);
+	}
+
+	@Test
+	public void testStringsExceedingTheModifiedUtf8LimitRoundTrip() {
+		StringBuilder record = new StringBuilder();
+		for (int i = 0; i < 40000; i++) {
+			record.append('\u00e4');
+		}
+		List<BusEvent> decoded = EventCodec.decode(
+				EventCodec.encode(Arrays.asList(new DistributedEvent(record.toString(), "node1"))), CLASS_LOADER);
+
+		assertEquals(record.toString(), decoded.get(0).getProperty(DistributedEvent.RECORD_KEY));
+		assertEquals("node1", decoded.get(0).getProperty(DistributedEvent.ORIGIN_KEY));
+	}
+
+	@Test(expected = WebException.class)
+	public void testOversizedStringLengthIsRejected() {
+		byte[] batch = EventCodec.encode(Arrays.asList(new DistributedEvent("a", null)));
+		// THE BATCH IS VERSION, EVENT COUNT, NEW STRING MARKER AND THE LENGTH OF THE TYPE NAME
+		batch[3] = (byte) 0x7F;
+		EventCodec.decode(Arrays.copyOf(batch, 4 + 0x7F - 1), CLASS_LOADER);
+	}
+
+	@Test
+	public void testBroadcastIsDistributedToOtherNodes() {
+		List<Runnable> scheduled = new ArrayList<>();
+		LoopbackEventTransport transport1 = new LoopbackEventTransport();
+		LoopbackEventTransport transport2 = transport1.newNode();
+		BroadcastBus bus1 = new BroadcastBus(scheduled::add, 4, transport1, CLASS_LOADER);
+		BroadcastBus bus2 = new BroadcastBus(scheduled::add, 4, transport2, CLASS_LOADER);
+
+		List<BusEvent> received1 = new ArrayList<>();
+		List<BusEvent> received2 = new ArrayList<>();
+		bus1.register(new CollectingRecipient(received1));
+		bus2.register(new CollectingRecipient(received2));
+
+		DistributedEvent distributed = new DistributedEvent("a", "node1");
+		bus1.publish(distributed);
+		bus1.publish(new PropertiedEvent("local"));
+		bus1.publish(new FrozenDistributedEvent("b"));
+		while (!scheduled.isEmpty()) {
+			scheduled.remove(0).run();
+		}
+
+		assertEquals(3, received1.size());
+		assertSame(distributed, received1.get(0));
+
+		// ONLY @DISTRIBUTABLE EVENTS REACH THE OTHER NODE, AS RE-CREATED INSTANCES
+		assertEquals(2, received2.size());
+		assertSame(DistributedEvent.class, received2.get(0).getClass());
+		assertNotSame(distributed, received2.get(0));
+		assertEquals("a", received2.get(0).getProperty(DistributedEvent.RECORD_KEY));
+		assertEquals("node1", received2.get(0).getProperty(DistributedEvent.ORIGIN_KEY));
+		assertSame(FrozenDistributedEvent.class, received2.get(1).getClass());
+		assertEquals("b", received2.get(1).getProperty(FrozenDistributedEvent.RECORD_KEY));
+	}
+
+	private static final class CollectingRecipient implements BroadcastBus.Recipient {
+
+		private final List<BusEvent> received;
+
+		private CollectingRecipient(List<BusEvent> received) {
+			this.received = received;
+		}
+
+		@Override
+		public boolean isAttached() {
+			return true;
+		}
+
+		@Override
+		public void deliverBroadcasts(Runnable delivery) {
+			delivery.run();
+		}
+
+		@Override
+		public void dispatchBroadcast(BusEvent event) {
+			this.received.add(event);
+		}
+	}
+
+	@Test
+	public void testOnlyDistributableEventsAreDistributable() {
+		assertTrue(EventCodec.isDistributable(new DistributedEvent()));
+		assertFalse(EventCodec.isDistributable(new PropertiedEvent("a")));
+	}
+
+	@Test(expected = WebException.class)
+	public void testDecodingNonDistributableEventFails() {
+		EventCodec.decode(EventCodec.encode(Arrays.asList(new PropertiedEvent("a"))), CLASS_LOADER);
+	}
+
+	@Test
+	public void testLoopbackDeliversToOtherNodesOnly() {
+		LoopbackEventTransport node1 = new LoopbackEventTransport();
+		LoopbackEventTransport node2 = node1.newNode();
+		LoopbackEventTransport node3 = node1.newNode();
+
+		List<byte[]> received1 = new ArrayList<>();
+		List<byte[]> received2 = new ArrayList<>();
+		List<byte[]> received3 = new ArrayList<>();
+		node1.connect(received1::add);
+		node2.connect(received2::add);
+		node3.connect(received3::add);
+
+		node1.send(EventCodec.encode(Arrays.asList(new DistributedEvent("a", "node1"))));
+
+		assertEquals(0, received1.size());
+		assertEquals(1, received2.size());
+		assertEquals(1, received3.size());
+		assertEquals("a", EventCodec.decode(received2.get(0), CLASS_LOADER).get(0).getProperty(DistributedEvent.RECORD_KEY));
+	}
+}
@@ -0,0 +1,170 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mantledillusion.vaadin.cotton.exception.WebException;
+
+public final class LocalizationResourceTest {
+
+	private LocalizationResource resource;
+
+	@Before
+	public void setup() {
+		this.resource = new LocalizationResource(Locale.ENGLISH);
+		ResourceBundle bundle = bundle("messages", new Object[][] {
+				{ "greeting.literal", "Hello World" },
+				{ "greeting.indexed", "Hello {0}, it is {1}" },
+				{ "greeting.named", "Hello {name}" },
+				{ "greeting.nested", "Hello {title.{0}} {name}" },
+				{ "greeting.reference", "Dear {title.mr}" },
+				{ "greeting.unbalanced", "Hello {name" },
+				{ "greeting.unopened", "Hello name}" },
+				{ "title.mr", "Mr." },
+				{ "title.ms", "Ms." } });
+		this.resource.addBundle(bundle, new HashSet<>(Collections.list(bundle.getKeys())));
+		this.resource.buildCatalog();
+	}
+
+	static ResourceBundle bundle(String baseName, Object[][] contents) {
+		return new ListResourceBundle() {
+
+			@Override
+			protected Object[][] getContents() {
+				return contents;
+			}
+
+			@Override
+			public String getBaseBundleName() {
+				return baseName;
+			}
+		};
+	}
+
+	@Test
+	public void testBundlesAreCompiledWhenTheCatalogIsBuilt() {
+		LocalizationResource resource = new LocalizationResource(Locale.ENGLISH);
+		ResourceBundle bundle = bundle("other", new Object[][] { { "farewell.literal", "Goodbye" } });
+		resource.addBundle(bundle, Collections.singleton("farewell.literal"));
+		assertFalse(resource.hasLocalization("farewell.literal"));
+
+		resource.buildCatalog();
+		assertTrue(resource.hasLocalization("farewell.literal"));
+		assertEquals("Goodbye", resource.renderMessage("farewell.literal", null));
+	}
+
+	@Test(expected = WebException.class)
+	public void testBundleOfTheSameBaseNameIsRejected() {
+		ResourceBundle bundle = bundle("messages", new Object[][] { { "farewell.literal", "Goodbye" } });
+		this.resource.addBundle(bundle, Collections.singleton("farewell.literal"));
+	}
+
+	@Test(expected = WebException.class)
+	public void testBundleSharingMessageIdsIsRejected() {
+		ResourceBundle bundle = bundle("other", new Object[][] { { "title.mr", "Sir" } });
+		this.resource.addBundle(bundle, Collections.singleton("title.mr"));
+	}
+
+	@Test
+	public void testReplacedBundleMayOnlyShareMessageIdsWithItself() {
+		this.resource.checkBundleReplaceable("messages", Collections.singleton("title.mr"));
+		try {
+			this.resource.checkBundleReplaceable("other", Collections.singleton("title.mr"));
+			fail("A bundle sharing message ids with another bundle must not be replaceable");
+		} catch (WebException e) {
+			// EXPECTED
+		}
+
+		ResourceBundle bundle = bundle("messages", new Object[][] { { "title.mr", "Sir" } });
+		this.resource.replaceBundle("messages", bundle, Collections.singleton("title.mr"));
+		assertEquals("Sir", this.resource.renderMessage("title.mr", null));
+		assertFalse(this.resource.hasLocalization("title.ms"));
+	}
+
+	@Test
+	public void testLiteralMessage() {
+		assertEquals("Hello World", this.resource.renderMessage("greeting.literal", null));
+	}
+
+	@Test
+	public void testIndexedParameters() {
+		assertEquals("Hello Bob, it is 12", this.resource.renderMessage("greeting.indexed", null, "Bob", 12));
+	}
+
+	@Test
+	public void testNamedParameters() {
+		assertEquals("Hello Bob",
+				this.resource.renderMessage("greeting.named", Collections.singletonMap("name", "Bob")));
+	}
+
+	@Test
+	public void testNestedSlotIsResolvedAsMessage() {
+		assertEquals("Hello Ms. Alice", this.resource.renderMessage("greeting.nested",
+				Collections.singletonMap("name", "Alice"), "ms"));
+	}
+
+	@Test
+	public void testNestedSlotIsResolvedAsParameter() {
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("name", "Alice");
+		parameters.put("title.dr", "Dr.");
+		assertEquals("Hello Dr. Alice", this.resource.renderMessage("greeting.nested", parameters, "dr"));
+	}
+
+	@Test
+	public void testMessageIdReference() {
+		assertEquals("Dear Mr.", this.resource.renderMessage("greeting.reference", null));
+	}
+
+	@Test
+	public void testUnbalancedBracesAreRenderedLiterally() {
+		assertEquals("Hello {name",
+				this.resource.renderMessage("greeting.unbalanced", Collections.singletonMap("name", "Bob")));
+		assertEquals("Hello name}", this.resource.renderMessage("greeting.unopened", null));
+	}
+
+	@Test
+	public void testIndexedParametersTakePrecedenceOverNamedOnes() {
+		assertEquals("Hello indexed, it is 1", this.resource.renderMessage("greeting.indexed",
+				Collections.singletonMap("0", "named"), "indexed", 1));
+	}
+
+	@Test
+	public void testMissingParametersAreRenderedAsTheirName() {
+		assertEquals("Hello name", this.resource.renderMessage("greeting.named", null));
+		assertEquals("Hello 0, it is 1", this.resource.renderMessage("greeting.indexed", null));
+	}
+
+	@Test
+	public void testNestedRenderingDoesNotCorruptOuterRendering() {
+		Object localized = new Object() {
+
+			@Override
+			public String toString() {
+				return LocalizationResourceTest.this.resource.renderMessage("greeting.named",
+						Collections.singletonMap("name", "Bob"));
+			}
+		};
+		assertEquals("Hello Hello Bob, it is 12",
+				this.resource.renderMessage("greeting.indexed", null, localized, 12));
+		assertEquals("Hello World", this.resource.renderMessage("greeting.literal", null, "unused"));
+	}
+
+	@Test
+	public void testUnknownMessageIdIsReturned() {
+		assertEquals("greeting.unknown", this.resource.renderMessage("greeting.unknown", null));
+	}
+}
@@ -0,0 +1,114 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class LocalizationWatcherTest {
+
+	private static final long TIMEOUT_MILLIS = 10000;
+	private static final long SETTLE_MILLIS = 1000;
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private final LocalizationControl control = new LocalizationControl(StandardCharsets.UTF_8, "properties");
+	private final Map<String, LocalizationResource> registry = new HashMap<>();
+	private URLClassLoader loader;
+	private LocalizationWatcher watcher;
+
+	@Before
+	public void setup() throws IOException {
+		write("base", Locale.ENGLISH, "greeting=Hello", "farewell=Goodbye");
+		write("base", Locale.GERMAN, "greeting=Hallo", "farewell=Auf Wiedersehen");
+		write("broken", Locale.ENGLISH, "broken=Broken");
+		write("broken", Locale.FRENCH, "broken=Casse");
+
+		this.loader = new URLClassLoader(new URL[] { this.folder.getRoot().toURI().toURL() }, null);
+		for (Locale locale : Arrays.asList(Locale.ENGLISH, Locale.GERMAN)) {
+			LocalizationResource resource = new LocalizationResource(locale);
+			ResourceBundle bundle = ResourceBundle.getBundle("base", locale, this.loader, this.control);
+			resource.addBundle(bundle, new HashSet<>(Collections.list(bundle.getKeys())));
+			resource.buildCatalog();
+			this.registry.put(locale.getISO3Language(), resource);
+		}
+
+		LocalizationWatcher.Registration base = new LocalizationWatcher.Registration("base", this.control);
+		base.addLocale(Locale.ENGLISH);
+		base.addLocale(Locale.GERMAN);
+		// NO RESOURCE IS REGISTERED FOR FRENCH, SO RELOADING THIS ONE FAILS
+		LocalizationWatcher.Registration broken = new LocalizationWatcher.Registration("broken", this.control);
+		broken.addLocale(Locale.ENGLISH);
+		broken.addLocale(Locale.FRENCH);
+		this.watcher = LocalizationWatcher.start(Arrays.asList(base, broken), this.registry, this.loader);
+	}
+
+	@After
+	public void teardown() throws IOException {
+		this.watcher.stop();
+		this.loader.close();
+	}
+
+	private void write(String baseName, Locale locale, String... lines) throws IOException {
+		Path file = this.folder.getRoot().toPath().resolve(baseName + '_' + locale.getISO3Language() + ".properties");
+		Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+	}
+
+	private String render(Locale locale, String msgId) {
+		return this.registry.get(locale.getISO3Language()).renderMessage(msgId, null);
+	}
+
+	private void awaitMessage(Locale locale, String msgId, String expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (!expected.equals(render(locale, msgId)) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertEquals(expected, render(locale, msgId));
+	}
+
+	@Test
+	public void testChangedResourceIsReloaded() throws IOException, InterruptedException {
+		write("base", Locale.GERMAN, "greeting=Servus", "farewell=Pfiat di");
+		awaitMessage(Locale.GERMAN, "greeting", "Servus");
+		assertEquals("Pfiat di", render(Locale.GERMAN, "farewell"));
+		assertEquals("Hello", render(Locale.ENGLISH, "greeting"));
+	}
+
+	@Test
+	public void testResourceWithDifferentMessageIdsIsNotReloaded() throws IOException, InterruptedException {
+		write("base", Locale.GERMAN, "greeting=Servus");
+		Thread.sleep(SETTLE_MILLIS);
+		assertEquals("Hallo", render(Locale.GERMAN, "greeting"));
+		assertEquals("Auf Wiedersehen", render(Locale.GERMAN, "farewell"));
+
+		write("base", Locale.GERMAN, "greeting=Servus", "farewell=Pfiat di");
+		awaitMessage(Locale.GERMAN, "greeting", "Servus");
+	}
+
+	@Test
+	public void testFailingReloadDoesNotStopTheWatcher() throws IOException, InterruptedException {
+		write("broken", Locale.FRENCH, "broken=Brise");
+		Thread.sleep(SETTLE_MILLIS);
+
+		write("base", Locale.ENGLISH, "greeting=Hi", "farewell=Bye");
+		awaitMessage(Locale.ENGLISH, "greeting", "Hi");
+	}
+}
@@ -0,0 +1,44 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mantledillusion.injection.hura.Injector;
+import com.mantledillusion.injection.hura.Predefinable.Singleton;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.FormView;
+import com.vaadin.ui.Button.ClickEvent;
+
+public final class PresenterListenerWiringTest {
+
+	private FormView view;
+
+	@Before
+	public void setup() {
+		this.view = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, new EventBus()))
+				.instantiate(FormView.class);
+	}
+
+	@Test
+	public void testComponentIsBoundOncePerEventType() {
+		assertEquals(1, this.view.getSave().getListeners(ClickEvent.class).size());
+		assertEquals(1, this.view.getCancel().getListeners(ClickEvent.class).size());
+		// THE PARAMETERLESS LISTENER LISTENS TO ALL EVENTS
+		assertEquals(1, this.view.getCancel().getListeners(Object.class).size());
+	}
+
+	@Test
+	public void testListenersOfComponentIdAndAllComponentsAreInvoked() {
+		// THE ORDER OF THE LISTENERS DEPENDS ON THE ORDER OF THE DECLARED METHODS
+		this.view.getSave().click();
+		assertEquals(new HashSet<>(Arrays.asList("clicked", "saved")), new HashSet<>(this.view.getReceived()));
+
+		this.view.getReceived().clear();
+		this.view.getCancel().click();
+		assertEquals(new HashSet<>(Arrays.asList("clicked", "cancelled")), new HashSet<>(this.view.getReceived()));
+	}
+}
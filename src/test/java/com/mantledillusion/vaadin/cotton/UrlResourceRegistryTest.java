@@ -0,0 +1,113 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mantledillusion.vaadin.cotton.exception.WebException;
+import com.mantledillusion.vaadin.cotton.exception.WebException.HttpErrorCodes;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing.AmbiguousOrderView;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing.NewOrderView;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing.OrderItemView;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing.OrderListView;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing.OrderView;
+
+public final class UrlResourceRegistryTest {
+
+	private UrlResourceRegistry registry;
+
+	@Before
+	public void setup() {
+		this.registry = new UrlResourceRegistry();
+		this.registry.registerViewResource(OrderView.class);
+		this.registry.registerViewResource(NewOrderView.class);
+		this.registry.registerViewResource(OrderItemView.class);
+		this.registry.registerViewResource(OrderListView.class);
+	}
+
+	@Test
+	public void testParameterSegmentsAreExtracted() {
+		UrlResourceRegistry.UrlMatch match = this.registry.match("orders/4711/items/2");
+		assertSame(OrderItemView.class, match.getView().getRootType());
+		assertEquals("orders/{orderId}/items/{itemId}", match.getRoute());
+		assertEquals("4711", match.getPathParams().get("orderId"));
+		assertEquals("2", match.getPathParams().get("itemId"));
+	}
+
+	@Test
+	public void testLiteralSegmentsTakePrecedence() {
+		assertSame(NewOrderView.class, this.registry.getViewAt("orders/new").getRootType());
+		assertSame(OrderView.class, this.registry.getViewAt("orders/4711").getRootType());
+		assertTrue(this.registry.match("orders/new").getPathParams().isEmpty());
+	}
+
+	@Test
+	public void testLiteralSegmentsDoNotShadowParameterSegments() {
+		this.registry.registerGoneResource("orders/export/csv");
+		this.registry.freeze();
+
+		UrlResourceRegistry.UrlMatch match = this.registry.match("orders/export");
+		assertSame(OrderView.class, match.getView().getRootType());
+		assertEquals("export", match.getPathParams().get("orderId"));
+		assertTrue(this.registry.hasGoneAt("orders/export/csv"));
+
+		match = this.registry.match("orders/new/items/2");
+		assertSame(OrderItemView.class, match.getView().getRootType());
+		assertEquals("new", match.getPathParams().get("orderId"));
+		assertEquals("2", match.getPathParams().get("itemId"));
+	}
+
+	@Test
+	public void testUnknownPathsDoNotMatch() {
+		assertNull(this.registry.match("orders"));
+		assertNull(this.registry.match("orders/4711/items"));
+		assertNull(this.registry.match("customers/4711"));
+	}
+
+	@Test
+	public void testGoneRoutes() {
+		this.registry.registerGoneResource("invoices/{invoiceId}");
+		assertTrue(this.registry.hasGoneAt("invoices/1"));
+	}
+
+	@Test
+	public void testAmbiguousRoutesAreRejected() {
+		try {
+			this.registry.registerViewResource(AmbiguousOrderView.class);
+			fail("Registering a route matching the same paths as an already registered route has to fail.");
+		} catch (WebException e) {
+			assertEquals(HttpErrorCodes.HTTP907_ILLEGAL_STRUCTURING, e.getErrorCode());
+		}
+	}
+
+	@Test
+	public void testFrozenRegistryResolvesRedirectsAndRoutes() {
+		this.registry.freeze();
+
+		UrlResourceRegistry.UrlMatch match = this.registry.match("purchases");
+		assertTrue(match.isRedirect());
+		assertEquals("orders", match.getPath());
+		assertSame(OrderListView.class, match.getView().getRootType());
+		assertFalse(this.registry.hasViewAt("purchases"));
+
+		assertSame(NewOrderView.class, this.registry.getViewAt("orders/new").getRootType());
+		assertEquals("4711", this.registry.match("orders/4711").getPathParams().get("orderId"));
+	}
+
+	@Test
+	public void testFrozenRegistryRejectsRegistrations() {
+		this.registry.freeze();
+		try {
+			this.registry.registerGoneResource("invoices");
+			fail("Registering a resource at a frozen registry has to fail.");
+		} catch (WebException e) {
+			assertEquals(HttpErrorCodes.HTTP902_ILLEGAL_STATE_ERROR, e.getErrorCode());
+		}
+	}
+}
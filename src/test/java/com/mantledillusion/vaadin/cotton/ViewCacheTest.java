@@ -0,0 +1,133 @@
+package com.mantledillusion.vaadin.cotton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.mantledillusion.injection.hura.Injector;
+import com.mantledillusion.injection.hura.Predefinable.Singleton;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.CountingSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.CountingView;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.ConcurrencyEvent;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing.NewOrderView;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing.OrderExportView;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing.OrderListView;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing.OrderSearchView;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing.OrderView;
+import com.mantledillusion.vaadin.cotton.viewpresenter.View;
+
+public final class ViewCacheTest {
+
+	private final List<View> destroyed = new ArrayList<>();
+
+	@Test
+	public void testLeastRecentlyCachedViewIsEvictedAtSize() {
+		ViewCache cache = new ViewCache(2, this.destroyed::add);
+		View first = new OrderView();
+		View second = new NewOrderView();
+		View third = new OrderListView();
+
+		cache.cache("orders/1", first, new EventBus.SubscriberGroup());
+		cache.cache("orders/new", second, new EventBus.SubscriberGroup());
+		assertTrue(this.destroyed.isEmpty());
+
+		cache.cache("orders", third, new EventBus.SubscriberGroup());
+		assertEquals(Arrays.asList(first), this.destroyed);
+		assertFalse(cache.contains("orders/1"));
+		assertSame(second, cache.take("orders/new").view);
+		assertSame(third, cache.take("orders").view);
+		assertEquals(1, this.destroyed.size());
+	}
+
+	@Test
+	public void testCachedViewIsSuspendedUntilTaken() {
+		EventBus bus = new EventBus();
+		Injector injector = Injector.of(Singleton.of(EventBus.PRESENTER_EVENT_BUS_ID, bus));
+		ViewCache cache = new ViewCache(1, this.destroyed::add);
+
+		EventBus.SubscriberGroup subscribers = new EventBus.SubscriberGroup();
+		CountingSubscriber subscriber = bus.capture(subscribers, () -> injector.instantiate(CountingSubscriber.class));
+		cache.cache("orders/1", new OrderView(), subscribers);
+		bus.dispatch(new ConcurrencyEvent(), null);
+		assertEquals(0, subscriber.getReceived());
+
+		cache.take("orders/1").subscribers.resume();
+		bus.dispatch(new ConcurrencyEvent(), null);
+		assertEquals(1, subscriber.getReceived());
+	}
+
+	@Test
+	public void testFailedPrebuildsAreForgottenWhenCleared() {
+		ViewCache cache = new ViewCache(1, this.destroyed::add);
+		cache.prebuildFailed("orders/new");
+		assertTrue(cache.hasPrebuildFailed("orders/new"));
+		assertFalse(cache.hasPrebuildFailed("orders"));
+
+		cache.clear();
+		assertFalse(cache.hasPrebuildFailed("orders/new"));
+	}
+
+	@Test
+	public void testCachedViewIsPreferredOverPrebuiltOne() {
+		ViewCache cache = new ViewCache(1, this.destroyed::add);
+		View cachedView = new OrderView();
+		View prebuiltView = new OrderView();
+
+		cache.prebuilt("orders/1", prebuiltView, new EventBus.SubscriberGroup());
+		cache.cache("orders/1", cachedView, new EventBus.SubscriberGroup());
+
+		ViewCache.CachedView taken = cache.take("orders/1");
+		assertSame(cachedView, taken.view);
+		assertFalse(taken.isPrebuilt);
+		assertEquals(Arrays.asList(prebuiltView), this.destroyed);
+		assertNull(cache.take("orders/1"));
+	}
+
+	@Test
+	public void testPrebuiltViewsAreRetainedForDeclaredPathsOnly() {
+		ViewCache cache = new ViewCache(0, this.destroyed::add);
+		View kept = new NewOrderView();
+		View dropped = new OrderListView();
+		cache.prebuilt("orders/new", kept, new EventBus.SubscriberGroup());
+		cache.prebuilt("orders", dropped, new EventBus.SubscriberGroup());
+
+		Set<String> paths = new HashSet<>(Arrays.asList("orders/new", "orders/1"));
+		cache.retainPrebuilt(paths);
+		assertEquals(Arrays.asList(dropped), this.destroyed);
+		assertEquals(new HashSet<>(Arrays.asList("orders/1")), paths);
+		assertTrue(cache.take("orders/new").isPrebuilt);
+	}
+
+	@Test
+	public void testViewsDependingOnUrlParamsAreNotPrebuildable() {
+		assertTrue(ViewCache.isPrebuildable(OrderListView.class));
+		assertTrue(ViewCache.isPrebuildable(CountingView.class));
+		assertFalse(ViewCache.isPrebuildable(OrderExportView.class));
+		assertFalse(ViewCache.isPrebuildable(OrderSearchView.class));
+	}
+
+	@Test
+	public void testClearingDestroysAllViews() {
+		// THE CACHE IS CLEARED WHENEVER THE USER CHANGES
+		ViewCache cache = new ViewCache(2, this.destroyed::add);
+		View cachedView = new OrderView();
+		View prebuiltView = new NewOrderView();
+		cache.cache("orders/1", cachedView, new EventBus.SubscriberGroup());
+		cache.prebuilt("orders/new", prebuiltView, new EventBus.SubscriberGroup());
+
+		cache.clear();
+		assertEquals(Arrays.asList(cachedView, prebuiltView), this.destroyed);
+		assertFalse(cache.contains("orders/1"));
+		assertFalse(cache.contains("orders/new"));
+	}
+}
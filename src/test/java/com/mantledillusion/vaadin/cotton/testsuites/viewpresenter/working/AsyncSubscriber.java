@@ -0,0 +1,33 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.PropertiedEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+public class AsyncSubscriber extends EventBusSubscriber {
+
+	public static final String FAILING_VALUE = "failing";
+
+	private final List<PropertiedEvent> received = new CopyOnWriteArrayList<>();
+	private final List<PropertiedEvent> applied = new CopyOnWriteArrayList<>();
+
+	@Subscribe(async = true)
+	private void receive(PropertiedEvent event) {
+		this.received.add(event);
+		if (FAILING_VALUE.equals(event.getPropertyValue())) {
+			throw new IllegalStateException("Failing on purpose.");
+		}
+		accessUI(() -> this.applied.add(event));
+	}
+
+	public List<PropertiedEvent> getReceived() {
+		return this.received;
+	}
+
+	public List<PropertiedEvent> getApplied() {
+		return this.applied;
+	}
+}
@@ -0,0 +1,26 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.LoopEvent;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.UniversalEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+public class CascadingSubscriber extends EventBusSubscriber {
+
+	private int received;
+
+	@Subscribe
+	private void cascade(LoopEvent event) {
+		dispatch(new UniversalEvent());
+		dispatch(new UniversalEvent());
+	}
+
+	@Subscribe
+	private void receive(UniversalEvent event) {
+		this.received++;
+	}
+
+	public int getReceived() {
+		return this.received;
+	}
+}
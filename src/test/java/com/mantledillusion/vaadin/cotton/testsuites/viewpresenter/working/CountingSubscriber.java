@@ -0,0 +1,21 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.ConcurrencyEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+public class CountingSubscriber extends EventBusSubscriber {
+
+	private final AtomicInteger received = new AtomicInteger();
+
+	@Subscribe
+	private void count(ConcurrencyEvent event) {
+		this.received.incrementAndGet();
+	}
+
+	public int getReceived() {
+		return this.received.get();
+	}
+}
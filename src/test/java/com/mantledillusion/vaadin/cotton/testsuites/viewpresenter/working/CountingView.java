@@ -0,0 +1,17 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import com.mantledillusion.vaadin.cotton.viewpresenter.Presented;
+import com.mantledillusion.vaadin.cotton.viewpresenter.View;
+import com.vaadin.ui.Component;
+import com.vaadin.ui.CssLayout;
+
+@Presented(CountingPresenter.class)
+public class CountingView extends View {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	protected Component buildUI(TemporalActiveComponentRegistry reg) throws Exception {
+		return new CssLayout();
+	}
+}
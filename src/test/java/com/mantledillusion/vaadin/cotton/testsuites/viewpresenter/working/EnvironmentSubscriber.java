@@ -0,0 +1,28 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.environment.events.navigation.NavigationEvent;
+import com.mantledillusion.vaadin.cotton.environment.events.user.UserChangeEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+public class EnvironmentSubscriber extends EventBusSubscriber {
+
+	private final List<BusEvent> received = new ArrayList<>();
+
+	@Subscribe(sticky = true)
+	private void navigated(NavigationEvent event) {
+		this.received.add(event);
+	}
+
+	@Subscribe(sticky = true)
+	private void userChanged(UserChangeEvent event) {
+		this.received.add(event);
+	}
+
+	public List<BusEvent> getReceived() {
+		return this.received;
+	}
+}
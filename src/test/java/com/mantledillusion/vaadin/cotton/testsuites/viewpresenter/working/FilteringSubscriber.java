@@ -0,0 +1,39 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.FilteredEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe.EventProperty;
+
+public class FilteringSubscriber extends EventBusSubscriber {
+
+	private final List<String> received = new ArrayList<>();
+
+	@Subscribe
+	private void receiveAll(FilteredEvent event) {
+		this.received.add("all");
+	}
+
+	@Subscribe(@EventProperty(key = FilteredEvent.FIRST_KEY, value = "a"))
+	private void receiveFirst(FilteredEvent event) {
+		this.received.add("first");
+	}
+
+	@Subscribe(@EventProperty(key = FilteredEvent.SECOND_KEY, value = "b"))
+	private void receiveSecond(FilteredEvent event) {
+		this.received.add("second");
+	}
+
+	@Subscribe({ @EventProperty(key = FilteredEvent.FIRST_KEY, value = "a"),
+			@EventProperty(key = FilteredEvent.SECOND_KEY, value = "b") })
+	private void receiveBoth(FilteredEvent event) {
+		this.received.add("both");
+	}
+
+	public List<String> getReceived() {
+		return this.received;
+	}
+}
@@ -0,0 +1,23 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import com.mantledillusion.vaadin.cotton.viewpresenter.Listen;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Presenter;
+import com.vaadin.ui.Button.ClickEvent;
+
+public class FormPresenter extends Presenter<FormView> {
+
+	@Listen
+	private void clicked(ClickEvent event) {
+		getView().receive("clicked");
+	}
+
+	@Listen(FormView.SAVE_ID)
+	private void saved(ClickEvent event) {
+		getView().receive("saved");
+	}
+
+	@Listen(FormView.CANCEL_ID)
+	private void cancelled() {
+		getView().receive("cancelled");
+	}
+}
@@ -0,0 +1,45 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mantledillusion.vaadin.cotton.viewpresenter.Presented;
+import com.mantledillusion.vaadin.cotton.viewpresenter.View;
+import com.vaadin.ui.Button;
+import com.vaadin.ui.Component;
+import com.vaadin.ui.CssLayout;
+
+@Presented(FormPresenter.class)
+public class FormView extends View {
+
+	private static final long serialVersionUID = 1L;
+
+	static final String SAVE_ID = "save";
+	static final String CANCEL_ID = "cancel";
+
+	private final Button save = new Button();
+	private final Button cancel = new Button();
+	private final List<String> received = new ArrayList<>();
+
+	@Override
+	protected Component buildUI(TemporalActiveComponentRegistry reg) throws Exception {
+		return new CssLayout(reg.registerActiveComponent(SAVE_ID, this.save),
+				reg.registerActiveComponent(CANCEL_ID, this.cancel));
+	}
+
+	void receive(String listener) {
+		this.received.add(listener);
+	}
+
+	public Button getSave() {
+		return this.save;
+	}
+
+	public Button getCancel() {
+		return this.cancel;
+	}
+
+	public List<String> getReceived() {
+		return this.received;
+	}
+}
@@ -0,0 +1,20 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.LoopEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+public class LoopingSubscriber extends EventBusSubscriber {
+
+	private int received;
+
+	@Subscribe
+	private void loop(LoopEvent event) {
+		this.received++;
+		dispatch(new LoopEvent());
+	}
+
+	public int getReceived() {
+		return this.received;
+	}
+}
@@ -0,0 +1,22 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.VetoableEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+public class ObservingSubscriber extends EventBusSubscriber {
+
+	private boolean declining;
+
+	@Subscribe
+	private void observe(VetoableEvent event) {
+		event.getReceivers().add(this);
+		if (this.declining) {
+			event.decline();
+		}
+	}
+
+	public void setDeclining(boolean declining) {
+		this.declining = declining;
+	}
+}
@@ -0,0 +1,27 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.PropertiedEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+public class QueueingSubscriber extends EventBusSubscriber {
+
+	public static final String FAILING_VALUE = "failing";
+
+	private final List<PropertiedEvent> received = new ArrayList<>();
+
+	@Subscribe
+	private void receive(PropertiedEvent event) {
+		this.received.add(event);
+		if (FAILING_VALUE.equals(event.getPropertyValue())) {
+			throw new IllegalStateException("Failing on purpose.");
+		}
+	}
+
+	public List<PropertiedEvent> getReceived() {
+		return this.received;
+	}
+}
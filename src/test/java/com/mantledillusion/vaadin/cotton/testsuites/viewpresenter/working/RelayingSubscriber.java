@@ -0,0 +1,19 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.TriggerAEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+public class RelayingSubscriber extends EventBusSubscriber {
+
+	private Runnable relay;
+
+	@Subscribe
+	private void relay(TriggerAEvent event) {
+		this.relay.run();
+	}
+
+	public void setRelay(Runnable relay) {
+		this.relay = relay;
+	}
+}
@@ -0,0 +1,10 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import com.mantledillusion.vaadin.cotton.viewpresenter.Scoped;
+import com.vaadin.ui.CssLayout;
+
+@Scoped
+public class ScopedLayout extends CssLayout {
+
+	private static final long serialVersionUID = 1L;
+}
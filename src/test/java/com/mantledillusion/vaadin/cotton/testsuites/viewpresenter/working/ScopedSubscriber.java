@@ -0,0 +1,34 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.UniversalEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+import com.vaadin.ui.Component;
+
+public class ScopedSubscriber extends EventBusSubscriber {
+
+	private Component anchor;
+	private int received;
+
+	@Subscribe
+	private void receive(UniversalEvent event) {
+		this.received++;
+	}
+
+	@Override
+	protected Component getScopeAnchor() {
+		return this.anchor;
+	}
+
+	public void setAnchor(Component anchor) {
+		this.anchor = anchor;
+	}
+
+	public boolean dispatchInScope(BusEvent event, boolean includeNestedScopes) {
+		return dispatchScoped(event, includeNestedScopes);
+	}
+
+	public int getReceived() {
+		return this.received;
+	}
+}
@@ -0,0 +1,13 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.SpecialVetoableEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+public class SpecialObservingSubscriber extends EventBusSubscriber {
+
+	@Subscribe
+	private void observe(SpecialVetoableEvent event) {
+		event.getReceivers().add(this);
+	}
+}
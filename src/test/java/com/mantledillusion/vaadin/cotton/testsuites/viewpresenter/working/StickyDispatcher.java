@@ -0,0 +1,26 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.StickyEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+public class StickyDispatcher extends EventBusSubscriber {
+
+	private final List<StickyEvent> received = new ArrayList<>();
+
+	@Subscribe(sticky = true, isSelfObservant = false)
+	private void receive(StickyEvent event) {
+		this.received.add(event);
+	}
+
+	public void dispatchSticky(StickyEvent event) {
+		dispatch(event);
+	}
+
+	public List<StickyEvent> getReceived() {
+		return this.received;
+	}
+}
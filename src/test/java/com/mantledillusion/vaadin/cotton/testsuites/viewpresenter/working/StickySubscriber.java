@@ -0,0 +1,26 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber;
+import com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events.StickyEvent;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Subscribe;
+
+public class StickySubscriber extends EventBusSubscriber {
+
+	private final List<StickyEvent> received = new ArrayList<>();
+
+	@Subscribe(sticky = true)
+	private void receive(StickyEvent event) {
+		this.received.add(event);
+	}
+
+	public void clearSticky() {
+		clearStickyEvent(StickyEvent.class);
+	}
+
+	public List<StickyEvent> getReceived() {
+		return this.received;
+	}
+}
@@ -0,0 +1,7 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+
+public class ConcurrencyEvent extends BusEvent {
+
+}
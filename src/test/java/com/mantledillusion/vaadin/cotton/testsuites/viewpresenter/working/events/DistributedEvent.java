@@ -0,0 +1,19 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events;
+
+import com.mantledillusion.vaadin.cotton.Distributable;
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+
+@Distributable
+public class DistributedEvent extends BusEvent {
+
+	public static final String RECORD_KEY = "record";
+	public static final String ORIGIN_KEY = "origin";
+
+	public DistributedEvent() {
+	}
+
+	public DistributedEvent(String record, String origin) {
+		addProperty(RECORD_KEY, record);
+		addProperty(ORIGIN_KEY, origin);
+	}
+}
@@ -0,0 +1,15 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+
+public class FilteredEvent extends BusEvent {
+
+	public static final String FIRST_KEY = "first";
+	public static final String SECOND_KEY = "second";
+
+	public FilteredEvent(String... keysAndValues) {
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			addProperty(keysAndValues[i], keysAndValues[i + 1]);
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events;
+
+import com.mantledillusion.vaadin.cotton.Distributable;
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+
+@Distributable
+public class FrozenDistributedEvent extends BusEvent {
+
+	public static final String RECORD_KEY = "record";
+
+	public FrozenDistributedEvent() {
+		this(null);
+	}
+
+	public FrozenDistributedEvent(String record) {
+		super(Properties.builder().with(RECORD_KEY, record).build());
+	}
+}
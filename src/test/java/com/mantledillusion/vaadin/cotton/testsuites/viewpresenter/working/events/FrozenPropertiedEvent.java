@@ -0,0 +1,17 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+
+public class FrozenPropertiedEvent extends BusEvent {
+
+	public static final String FIRST_KEY = "first";
+	public static final String SECOND_KEY = "second";
+
+	public FrozenPropertiedEvent(String first, String second) {
+		super(Properties.builder().with(FIRST_KEY, first).with(SECOND_KEY, second).build());
+	}
+
+	public void tryToAddProperty() {
+		addProperty(FIRST_KEY, null);
+	}
+}
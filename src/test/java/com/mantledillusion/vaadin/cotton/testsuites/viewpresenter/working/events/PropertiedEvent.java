@@ -6,7 +6,14 @@ public class PropertiedEvent extends BusEvent {
 	
 	public static final String SUBSCRIBER_KEY = "interestedSubscriber";
 	
+	private final String propertyValue;
+	
 	public PropertiedEvent(String propertyValue) {
 		super(SUBSCRIBER_KEY, propertyValue);
+		this.propertyValue = propertyValue;
+	}
+	
+	public String getPropertyValue() {
+		return this.propertyValue;
 	}
 }
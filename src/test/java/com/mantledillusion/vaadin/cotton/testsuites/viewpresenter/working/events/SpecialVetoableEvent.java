@@ -0,0 +1,5 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events;
+
+public class SpecialVetoableEvent extends VetoableEvent {
+
+}
@@ -0,0 +1,9 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.Sticky;
+
+@Sticky
+public class StickyEvent extends BusEvent {
+
+}
@@ -0,0 +1,27 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mantledillusion.vaadin.cotton.EventBusSubscriber.BusEvent;
+import com.mantledillusion.vaadin.cotton.Vetoable;
+
+public class VetoableEvent extends BusEvent implements Vetoable {
+
+	private final List<Object> receivers = new ArrayList<>();
+	private boolean declined;
+
+	@Override
+	public void decline() {
+		this.declined = true;
+	}
+
+	@Override
+	public boolean doAccept() {
+		return !this.declined;
+	}
+
+	public List<Object> getReceivers() {
+		return this.receivers;
+	}
+}
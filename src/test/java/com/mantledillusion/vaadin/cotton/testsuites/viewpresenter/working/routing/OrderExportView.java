@@ -0,0 +1,22 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing;
+
+import com.mantledillusion.vaadin.cotton.QueryParam;
+import com.mantledillusion.vaadin.cotton.RequiredQueryParam;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Addressed;
+import com.mantledillusion.vaadin.cotton.viewpresenter.View;
+import com.vaadin.ui.Component;
+import com.vaadin.ui.CssLayout;
+
+@Addressed("orders/export")
+public class OrderExportView extends View {
+
+	private static final long serialVersionUID = 1L;
+
+	@RequiredQueryParam("format")
+	private QueryParam format;
+
+	@Override
+	protected Component buildUI(TemporalActiveComponentRegistry reg) throws Exception {
+		return new CssLayout();
+	}
+}
@@ -0,0 +1,17 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing;
+
+import com.mantledillusion.vaadin.cotton.viewpresenter.Addressed;
+import com.mantledillusion.vaadin.cotton.viewpresenter.View;
+import com.vaadin.ui.Component;
+import com.vaadin.ui.CssLayout;
+
+@Addressed("orders/{orderId}/items/{itemId}")
+public class OrderItemView extends View {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	protected Component buildUI(TemporalActiveComponentRegistry reg) throws Exception {
+		return new CssLayout();
+	}
+}
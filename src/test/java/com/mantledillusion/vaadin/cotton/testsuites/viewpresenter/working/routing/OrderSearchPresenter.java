@@ -0,0 +1,11 @@
+package com.mantledillusion.vaadin.cotton.testsuites.viewpresenter.working.routing;
+
+import com.mantledillusion.vaadin.cotton.QueryParam;
+import com.mantledillusion.vaadin.cotton.RequiredQueryParam;
+import com.mantledillusion.vaadin.cotton.viewpresenter.Presenter;
+
+public class OrderSearchPresenter extends Presenter<OrderSearchView> {
+
+	@RequiredQueryParam("query")
+	private QueryParam query;
+}